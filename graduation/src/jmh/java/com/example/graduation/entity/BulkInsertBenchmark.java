@@ -0,0 +1,124 @@
+package com.example.graduation.entity;
+
+import com.example.graduation.entity.common.BaseEntity;
+import com.example.graduation.entity.common.PooledIdGenerator;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+
+//Persisting a batch of students in one transaction - old IDENTITY ids vs PooledIdGenerator
+//Same Hibernate settings as the application (jdbc.batch_size=50, order_inserts)
+//IDENTITY needs the generated key right after each INSERT, so Hibernate sends them one by one;
+//pooled ids are known before the flush and the INSERTs go out 50 per batch
+//H2 runs behind its TCP server - every statement is a round trip over loopback, like with MySQL
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+
+    private int run;
+
+
+    @Setup
+    public void setup() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+
+        sessionFactory = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bulk-insert;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(PooledIdGenerator.ALLOCATION_SIZE_SETTING, "50")
+                .addAnnotatedClass(IdentityStudent.class)
+                .addAnnotatedClass(PooledStudent.class)
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    //Keeps the tables (and their unique indexes) the same size for every iteration
+    @TearDown(Level.Iteration)
+    public void clear() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from IdentityStudent").executeUpdate();
+            session.createMutationQuery("delete from PooledStudent").executeUpdate();
+        });
+    }
+
+
+    @Benchmark
+    public void identity() {
+        int batch = run++;
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                IdentityStudent student = new IdentityStudent();
+                student.firstName = "First" + i;
+                student.lastName = "Last" + i;
+                student.studentNumber = "F" + batch + "-" + i;
+                session.persist(student);
+            }
+        });
+    }
+
+    @Benchmark
+    public void pooled() {
+        int batch = run++;
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < rows; i++) {
+                PooledStudent student = new PooledStudent();
+                student.firstName = "First" + i;
+                student.lastName = "Last" + i;
+                student.studentNumber = "F" + batch + "-" + i;
+                session.persist(student);
+            }
+        });
+    }
+
+
+    //Student columns, the way BaseEntity mapped the id before
+    @Entity(name = "IdentityStudent")
+    @Table(name = "identity_student")
+    public static class IdentityStudent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        public Long id;
+
+        public String firstName;
+        public String lastName;
+
+        @jakarta.persistence.Column(unique = true)
+        public String studentNumber;
+    }
+
+    //Student columns with the current BaseEntity id
+    @Entity(name = "PooledStudent")
+    @Table(name = "pooled_student")
+    public static class PooledStudent extends BaseEntity {
+
+        public String firstName;
+        public String lastName;
+
+        @jakarta.persistence.Column(unique = true)
+        public String studentNumber;
+    }
+}
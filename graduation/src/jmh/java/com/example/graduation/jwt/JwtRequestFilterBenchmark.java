@@ -0,0 +1,76 @@
+package com.example.graduation.jwt;
+
+import com.example.graduation.service.CustomUserDetailsService;
+import com.example.graduation.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+//One authenticated request through JwtRequestFilter
+//User details come from memory - same as a userDetails cache hit
+@State(Scope.Thread)
+public class JwtRequestFilterBenchmark {
+
+    //false - principal from CustomUserDetailsService, true - built from claims
+    @Param({"false", "true"})
+    public boolean statelessPrincipal;
+
+    //false - every request parses and verifies the token
+    @Param({"true", "false"})
+    public boolean tokenCacheEnabled;
+
+    private JwtRequestFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = new JwtUtil();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        UserPrincipal principal = new UserPrincipal(3L, "student1", "{noop}", List.of("ROLE_STUDENT"), 7L, null);
+
+        //Stands in for the cached loadUserByUsername
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return principal;
+            }
+        };
+
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(meterRegistry, tokenCacheEnabled ? 10_000 : 0);
+        TokenRevocationService revocationService = new TokenRevocationService(null, meterRegistry, 10_000, 0.01);
+
+        filter = new JwtRequestFilter(userDetailsService, jwtUtil, tokenCache, revocationService);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", statelessPrincipal);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(authentication));
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+
+    @Benchmark
+    public void doFilterInternal(Blackhole blackhole) throws Exception {
+        filter.doFilterInternal(request, response, chain);
+
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
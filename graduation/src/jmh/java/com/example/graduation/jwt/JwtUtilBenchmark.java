@@ -0,0 +1,57 @@
+package com.example.graduation.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+//Token issue and verification - no caches involved
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private Authentication authentication;
+    private UserPrincipal principal;
+
+    private String token;
+    private Claims claims;
+
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+
+        principal = new UserPrincipal(3L, "student1", null, List.of("ROLE_STUDENT"), 7L, null);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        token = jwtUtil.generateToken(authentication);
+        claims = jwtUtil.extractAllClaims(token);
+    }
+
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(authentication);
+    }
+
+    //Full parse + signature check
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    //Parses the token again
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, principal);
+    }
+
+    //What the filter does - claims are already verified
+    @Benchmark
+    public boolean validateClaims() {
+        return jwtUtil.validateToken(claims, principal);
+    }
+}
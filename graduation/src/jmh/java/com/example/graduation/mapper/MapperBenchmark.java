@@ -0,0 +1,74 @@
+package com.example.graduation.mapper;
+
+import com.example.graduation.dto.student.StudentDTO;
+import com.example.graduation.dto.thesis.SubmittedThesisDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.ThesisStatus;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+//Entity -> DTO conversion, reflective ModelMapper vs generated MapStruct code
+//ModelMapper is configured the way the old Config bean did it - a plain new ModelMapper()
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private ThesisMapper thesisMapper;
+    private StudentMapper studentMapper;
+
+    private Student student;
+    private Thesis thesis;
+
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+
+        thesisMapper = new ThesisMapperImpl();
+        studentMapper = new StudentMapperImpl();
+
+        student = new Student();
+        student.setId(7L);
+        student.setFirstName("Alice");
+        student.setLastName("Smith");
+        student.setStudentNumber("F123456");
+
+        thesis = new Thesis();
+        thesis.setId(11L);
+        thesis.setTitle("AI Thesis");
+        thesis.setStatus(ThesisStatus.SUBMITTED);
+        thesis.setStudent(student);
+
+        //Warm the type map outside of the measurement
+        modelMapper.map(thesis, SubmittedThesisDTO.class);
+        modelMapper.map(student, StudentDTO.class);
+    }
+
+
+    //Old convertToSubmittedThesisDTO - student fields were set by hand after the reflective map
+    @Benchmark
+    public SubmittedThesisDTO thesisModelMapper() {
+        SubmittedThesisDTO dto = modelMapper.map(thesis, SubmittedThesisDTO.class);
+        dto.setStudentId(thesis.getStudent().getId());
+        dto.setStudentNumber(thesis.getStudent().getStudentNumber());
+        return dto;
+    }
+
+    @Benchmark
+    public SubmittedThesisDTO thesisMapStruct() {
+        return thesisMapper.toSubmittedThesisDTO(thesis);
+    }
+
+
+    @Benchmark
+    public StudentDTO studentModelMapper() {
+        return modelMapper.map(student, StudentDTO.class);
+    }
+
+    @Benchmark
+    public StudentDTO studentMapStruct() {
+        return studentMapper.toStudentDTO(student);
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.graduation.analytics;
+
+import com.example.graduation.dto.analytics.GradeAnalyticsDTO;
+import com.example.graduation.dto.analytics.GradeStatsDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+//Grade analytics over an in-memory ThesisColumns snapshot instead of SQL over entities
+//Loaded at startup and rebuilt on a schedule, kept current in between by the thesis / student write events
+//Aggregates are grade histograms counted in parallel chunks - mean, median, percentiles follow from them
+@Service
+public class ThesisAnalytics {
+
+    //Rows per parallel task
+    private static final int CHUNK_SIZE = 16_384;
+
+    //2.00 is the failing grade
+    private static final Grade LOWEST_PASSING = Grade.GRADE_3_00;
+
+    private static final String SNAPSHOT_QUERY =
+            "SELECT t.id, t.status, t.grade, s.id, s.student_number "
+                    + "FROM thesis t LEFT JOIN student s ON s.id = t.student_id ORDER BY t.id";
+
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //Guarded by lock - empty until the first load
+    private ThesisColumns columns = new ThesisColumns(0);
+
+    //Changes made while a rebuild reads the tables - replayed onto the new snapshot
+    private List<Consumer<ThesisColumns>> changedDuringRebuild;
+
+
+    public ThesisAnalytics(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    //Mean, median, percentiles and pass rate of defended theses
+    //studentNumberPrefix - only students whose number starts with it
+    //cohortPrefixLength > 0 - also per cohort, a cohort being the first n characters of the student number
+    public GradeAnalyticsDTO getGradeAnalytics(String studentNumberPrefix, int cohortPrefixLength) {
+        boolean byStudent = (studentNumberPrefix != null && !studentNumberPrefix.isBlank()) || cohortPrefixLength > 0;
+
+        lock.readLock().lock();
+        try {
+            //Group per dictionary entry - once per student, not per thesis
+            Map<String, Integer> groups = new LinkedHashMap<>();
+            int[] groupOfStudent = new int[columns.studentCount()];
+
+            for (int code = 0; code < groupOfStudent.length; code++) {
+                String number = columns.studentNumber(code);
+
+                if (!byStudent) {
+                    groupOfStudent[code] = 0;
+                } else if (number == null || (studentNumberPrefix != null && !number.startsWith(studentNumberPrefix))) {
+                    groupOfStudent[code] = ThesisColumns.NONE;
+                } else {
+                    String cohort = number.substring(0, Math.min(number.length(), Math.max(cohortPrefixLength, 0)));
+                    groupOfStudent[code] = groups.computeIfAbsent(cohort, key -> groups.size());
+                }
+            }
+            if (!byStudent) {
+                groups.put("", 0);
+            }
+
+            //Theses without a student only count when no student filter applies
+            int noStudentGroup = byStudent ? ThesisColumns.NONE : 0;
+            long[] counts = countGrades(groupOfStudent, noStudentGroup, groups.size());
+
+            long[] overall = new long[ThesisColumns.GRADES];
+            Map<String, GradeStatsDTO> byCohort = new TreeMap<>();
+
+            groups.forEach((cohort, group) -> {
+                long[] histogram = Arrays.copyOfRange(counts,
+                        group * ThesisColumns.GRADES, (group + 1) * ThesisColumns.GRADES);
+                for (int grade = 0; grade < histogram.length; grade++) {
+                    overall[grade] += histogram[grade];
+                }
+                if (cohortPrefixLength > 0) {
+                    byCohort.put(cohort, stats(histogram));
+                }
+            });
+
+            return new GradeAnalyticsDTO(stats(overall), cohortPrefixLength > 0 ? byCohort : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    //After commit - rolled back writes never reach the snapshot
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+
+        if (event.getEntity() instanceof Thesis thesis) {
+            long id = thesis.getId();
+
+            if (event.getChangeType() == ChangeType.DELETED) {
+                apply(snapshot -> snapshot.remove(id));
+                return;
+            }
+
+            ThesisStatus status = thesis.getStatus();
+            Grade grade = thesis.getGrade();
+            Student student = thesis.getStudent();
+
+            //Lazy student - the id is on the proxy, the number only if it was loaded
+            Long studentId = student == null ? null : student.getId();
+            String studentNumber = student != null && Hibernate.isInitialized(student) ? student.getStudentNumber() : null;
+
+            apply(snapshot -> snapshot.upsert(id, status, grade, studentId, studentNumber));
+        }
+        else if (event.getEntity() instanceof Student student && event.getChangeType() != ChangeType.DELETED) {
+            long id = student.getId();
+            String studentNumber = student.getStudentNumber();
+
+            apply(snapshot -> snapshot.student(id, studentNumber));
+        }
+    }
+
+
+    //Fresh snapshot from the tables - one forward pass, no entities
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${thesis.analytics.rebuild-interval-ms:3600000}",
+            initialDelayString = "${thesis.analytics.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        //Current size read under the lock - a good first capacity for the new snapshot
+        int capacity;
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+            capacity = columns.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            ThesisColumns rebuilt = new ThesisColumns(capacity);
+
+            jdbcTemplate.query(SNAPSHOT_QUERY, (RowCallbackHandler) rs ->
+                    rebuilt.upsert(rs.getLong(1),
+                            enumValue(ThesisStatus.class, rs.getString(2)),
+                            enumValue(Grade.class, rs.getString(3)),
+                            rs.getObject(4, Long.class),
+                            rs.getString(5)));
+
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+                columns = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+
+    private void apply(Consumer<ThesisColumns> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(columns);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //counts[group * GRADES + grade] - each chunk counts into its own array, merged at the end
+    private long[] countGrades(int[] groupOfStudent, int noStudentGroup, int groupCount) {
+        int size = columns.size();
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int length = groupCount * ThesisColumns.GRADES;
+
+        return IntStream.range(0, chunks).parallel()
+                .collect(() -> new long[length],
+                        (counts, chunk) -> columns.countGrades(chunk * CHUNK_SIZE,
+                                Math.min(size, (chunk + 1) * CHUNK_SIZE), groupOfStudent, noStudentGroup, counts),
+                        (left, right) -> {
+                            for (int i = 0; i < length; i++) {
+                                left[i] += right[i];
+                            }
+                        });
+    }
+
+    //Exact statistics from a histogram - there are only eight possible values
+    private static GradeStatsDTO stats(long[] histogram) {
+        Grade[] grades = Grade.values();
+
+        Map<Grade, Long> distribution = new EnumMap<>(Grade.class);
+        long graded = 0;
+        long passed = 0;
+        double sum = 0;
+
+        for (Grade grade : grades) {
+            long count = histogram[grade.ordinal()];
+            distribution.put(grade, count);
+            graded += count;
+            sum += count * grade.getValue();
+            if (grade.compareTo(LOWEST_PASSING) >= 0) {
+                passed += count;
+            }
+        }
+
+        if (graded == 0) {
+            return new GradeStatsDTO(0, null, null, null, null, null, null, distribution);
+        }
+
+        return new GradeStatsDTO(graded,
+                sum / graded,
+                percentile(histogram, graded, 0.50),
+                percentile(histogram, graded, 0.25),
+                percentile(histogram, graded, 0.75),
+                percentile(histogram, graded, 0.90),
+                (double) passed / graded,
+                distribution);
+    }
+
+    //Nearest rank - the lowest grade with at least p of the theses at or below it
+    private static double percentile(long[] histogram, long graded, double p) {
+        long rank = Math.max(1, (long) Math.ceil(p * graded));
+        long seen = 0;
+
+        Grade[] grades = Grade.values();
+        for (Grade grade : grades) {
+            seen += histogram[grade.ordinal()];
+            if (seen >= rank) {
+                return grade.getValue();
+            }
+        }
+        return grades[grades.length - 1].getValue();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
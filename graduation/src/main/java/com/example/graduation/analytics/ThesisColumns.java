@@ -0,0 +1,151 @@
+package com.example.graduation.analytics;
+
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+//Column-per-field copy of the thesis table - one slot per thesis in each array, sorted by thesis id
+//Status and Grade are enum ordinals in a byte, the student is a code into a dictionary of id + number
+//so a cohort grouping is worked out once per student instead of once per thesis
+//Not thread-safe - ThesisAnalytics guards it with a read/write lock
+class ThesisColumns {
+
+    static final byte NONE = -1;
+    static final int GRADES = Grade.values().length;
+
+    private static final byte DEFENDED = (byte) ThesisStatus.DEFENDED.ordinal();
+
+    private int size;
+    private long[] ids;
+    private byte[] statuses;
+    private byte[] grades;
+    private int[] students;
+
+    //Student dictionary - code -> id / number, id -> code
+    private int studentCount;
+    private long[] studentIds;
+    private String[] studentNumbers;
+    private final Map<Long, Integer> studentCodes = new HashMap<>();
+
+
+    ThesisColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+
+        ids = new long[capacity];
+        statuses = new byte[capacity];
+        grades = new byte[capacity];
+        students = new int[capacity];
+
+        studentIds = new long[capacity];
+        studentNumbers = new String[capacity];
+    }
+
+
+    int size() {
+        return size;
+    }
+
+    int studentCount() {
+        return studentCount;
+    }
+
+    //null if the student is only known by id - filled in by the next student event or rebuild
+    String studentNumber(int code) {
+        return studentNumbers[code];
+    }
+
+
+    //Insert or overwrite - studentNumber may be null when only the id is at hand
+    void upsert(long id, ThesisStatus status, Grade grade, Long studentId, String studentNumber) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = insertRow(-row - 1);
+            ids[row] = id;
+        }
+
+        statuses[row] = status == null ? NONE : (byte) status.ordinal();
+        grades[row] = grade == null ? NONE : (byte) grade.ordinal();
+        students[row] = studentId == null ? NONE : student(studentId, studentNumber);
+    }
+
+    void remove(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            return;
+        }
+
+        int tail = size - row - 1;
+        System.arraycopy(ids, row + 1, ids, row, tail);
+        System.arraycopy(statuses, row + 1, statuses, row, tail);
+        System.arraycopy(grades, row + 1, grades, row, tail);
+        System.arraycopy(students, row + 1, students, row, tail);
+        size--;
+    }
+
+    //Dictionary code of a student - added if new, number updated if given
+    int student(long studentId, String studentNumber) {
+        Integer code = studentCodes.get(studentId);
+
+        if (code == null) {
+            if (studentCount == studentIds.length) {
+                int capacity = studentCount * 2;
+                studentIds = Arrays.copyOf(studentIds, capacity);
+                studentNumbers = Arrays.copyOf(studentNumbers, capacity);
+            }
+            code = studentCount++;
+            studentIds[code] = studentId;
+            studentCodes.put(studentId, code);
+        }
+        if (studentNumber != null) {
+            studentNumbers[code] = studentNumber;
+        }
+
+        return code;
+    }
+
+
+    //Defended, graded rows in [from, to) added to counts[group * GRADES + grade]
+    //groupOfStudent - group per student code, NONE skips the student
+    //noStudentGroup - group of rows without a student, NONE skips them
+    void countGrades(int from, int to, int[] groupOfStudent, int noStudentGroup, long[] counts) {
+        for (int row = from; row < to; row++) {
+            byte grade = grades[row];
+            if (grade == NONE || statuses[row] != DEFENDED) {
+                continue;
+            }
+
+            int student = students[row];
+            int group = student == NONE ? noStudentGroup : groupOfStudent[student];
+            if (group != NONE) {
+                counts[group * GRADES + grade]++;
+            }
+        }
+    }
+
+
+    //Opens a slot at row - the arrays double when full
+    private int insertRow(int row) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            grades = Arrays.copyOf(grades, capacity);
+            students = Arrays.copyOf(students, capacity);
+        }
+
+        //New theses have the highest id - usually an append, nothing to move
+        int tail = size - row;
+        if (tail > 0) {
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(statuses, row, statuses, row + 1, tail);
+            System.arraycopy(grades, row, grades, row + 1, tail);
+            System.arraycopy(students, row, students, row + 1, tail);
+        }
+        size++;
+
+        return row;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.graduation.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    //Cache names
+    public static final String USER_DETAILS = "userDetails";
+    public static final String LIST_TOTALS = "listTotals";
+    public static final String IMPORT_JOBS = "importJobs";
+
+
+    //Every cache gets its own size bound and TTL - see cache.*.spec properties
+    //Stats are recorded so /actuator/prometheus shows size, hit ratio and evictions
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.user-details.spec:maximumSize=1000,expireAfterWrite=10m}") String userDetailsSpec,
+            @Value("${cache.list-totals.spec:maximumSize=1000,expireAfterWrite=30s}") String listTotalsSpec,
+            @Value("${cache.import-jobs.spec:maximumSize=100,expireAfterWrite=24h}") String importJobsSpec) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        cacheManager.registerCustomCache(USER_DETAILS, Caffeine.from(userDetailsSpec).recordStats().build());
+        cacheManager.registerCustomCache(LIST_TOTALS, Caffeine.from(listTotalsSpec).recordStats().build());
+        cacheManager.registerCustomCache(IMPORT_JOBS, Caffeine.from(importJobsSpec).recordStats().build());
+
+        return cacheManager;
+    }
+}
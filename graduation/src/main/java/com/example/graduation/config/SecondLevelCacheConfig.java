@@ -0,0 +1,98 @@
+package com.example.graduation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+//Hibernate second-level cache - JCache API, Caffeine behind it
+//Every region is created here with a size bound and TTL - cache.l2.* properties
+//An entity's natural-id (and collection) regions share its settings
+//A region missing here fails the startup (hibernate.javax.cache.missing_cache_strategy=fail)
+//Region stats are bound like the Spring caches - cache_gets, cache_size, cache_evictions... {cache.manager="hibernate"}
+@Configuration
+public class SecondLevelCacheConfig {
+
+    //Region names - @Cache / @NaturalIdCache on the entities
+    public static final String STUDENT = "student";
+    public static final String STUDENT_NATURAL_ID = "student-natural-id";
+    public static final String TEACHER = "teacher";
+    public static final String TEACHER_NATURAL_ID = "teacher-natural-id";
+    public static final String ROLE = "role";
+    public static final String ROLE_NATURAL_ID = "role-natural-id";
+    public static final String USER = "user";
+    public static final String USER_NATURAL_ID = "user-natural-id";
+    public static final String USER_ROLES = "user-roles";
+
+
+    //A CacheManager of its own per application context - the provider hands out one per URI
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.l2.student.maximum-size:10000}") long studentSize,
+            @Value("${cache.l2.student.expire-after-write:1h}") Duration studentTtl,
+            @Value("${cache.l2.teacher.maximum-size:1000}") long teacherSize,
+            @Value("${cache.l2.teacher.expire-after-write:1h}") Duration teacherTtl,
+            @Value("${cache.l2.role.maximum-size:100}") long roleSize,
+            @Value("${cache.l2.role.expire-after-write:1h}") Duration roleTtl,
+            @Value("${cache.l2.user.maximum-size:1000}") long userSize,
+            @Value("${cache.l2.user.expire-after-write:10m}") Duration userTtl) {
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, STUDENT, studentSize, studentTtl);
+        createRegion(cacheManager, STUDENT_NATURAL_ID, studentSize, studentTtl);
+        createRegion(cacheManager, TEACHER, teacherSize, teacherTtl);
+        createRegion(cacheManager, TEACHER_NATURAL_ID, teacherSize, teacherTtl);
+        createRegion(cacheManager, ROLE, roleSize, roleTtl);
+        createRegion(cacheManager, ROLE_NATURAL_ID, roleSize, roleTtl);
+        createRegion(cacheManager, USER, userSize, userTtl);
+        createRegion(cacheManager, USER_NATURAL_ID, userSize, userTtl);
+        createRegion(cacheManager, USER_ROLES, userSize, userTtl);
+
+        return cacheManager;
+    }
+
+    //Hands the CacheManager above to the JCache region factory
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    //Caffeine's own stats of every region - size, hits / misses, evictions - to tune cache.l2.*
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                //JCache region -> the Caffeine cache behind it
+                Cache<?, ?> region = hibernateCacheManager.getCache(name).unwrap(Cache.class);
+                CaffeineCacheMetrics.monitor(registry, region, name, "cache.manager", "hibernate");
+            }
+        };
+    }
+
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        //Hibernate stores its own disassembled entries - no serialized copy per get / put
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+
+        cacheManager.createCache(name, configuration);
+    }
+}
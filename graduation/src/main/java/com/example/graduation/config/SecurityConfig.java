@@ -2,6 +2,7 @@ package com.example.graduation.config;
 
 import com.example.graduation.jwt.JwtRequestFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -41,6 +42,9 @@ public class SecurityConfig {
                         "/webjars/**"
                 ).permitAll()
 
+                //Health check only - metrics (/actuator/prometheus) need a token like any other endpoint
+                .requestMatchers("/actuator/health").permitAll()
+
                 .anyRequest().authenticated()
                 .and()
                 .sessionManagement()
@@ -50,9 +54,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    //Raising the strength is safe - older hashes are upgraded on next login
+    //(CustomUserDetailsService.updatePassword)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
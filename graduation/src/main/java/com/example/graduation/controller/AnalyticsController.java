@@ -0,0 +1,31 @@
+package com.example.graduation.controller;
+
+import com.example.graduation.analytics.ThesisAnalytics;
+import com.example.graduation.dto.analytics.GradeAnalyticsDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/analytics")
+//Only ROLE_TEACHER can see grade analytics
+@PreAuthorize("hasRole('TEACHER')")
+public class AnalyticsController {
+
+    private final ThesisAnalytics thesisAnalytics;
+
+
+    //Grades of defended theses
+    //e.g. ?studentNumberPrefix=F1 - one intake only
+    //     ?cohortPrefixLength=3  - also per cohort (first 3 characters of the student number)
+    @GetMapping("/grades")
+    public GradeAnalyticsDTO getGradeAnalytics(
+            @RequestParam(required = false) String studentNumberPrefix,
+            @RequestParam(defaultValue = "0") int cohortPrefixLength
+    ) {
+
+        return thesisAnalytics.getGradeAnalytics(studentNumberPrefix, cohortPrefixLength);
+    }
+}
@@ -1,46 +1,99 @@
 package com.example.graduation.controller;
 
-import com.example.graduation.jwt.JwtUtil;
-import com.example.graduation.service.CustomUserDetailsService;
-import lombok.AllArgsConstructor;
+import com.example.graduation.service.AuthTokenService;
+import com.example.graduation.service.LoginService;
 import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
-@AllArgsConstructor
+@RequiredArgsConstructor
 @RequestMapping("/auth")
 public class AuthController {
 
-    private AuthenticationManager authenticationManager;
+    //Refresh token lives in an HttpOnly cookie scoped to /auth - never readable by scripts
+    private static final String REFRESH_COOKIE = "refresh_token";
+
+    private final LoginService loginService;
+
+    private final AuthTokenService authTokenService;
 
-    private CustomUserDetailsService userDetailsService;
+    //Set to true behind HTTPS
+    @Value("${jwt.refresh-token.cookie-secure:false}")
+    private boolean secureCookie;
 
-    private JwtUtil jwtUtil;
+    @Value("${jwt.refresh-token.expiration-ms:604800000}")
+    private long refreshTokenExpiration;
 
 
+    //Password check runs on the login pool - the Tomcat thread is released meanwhile
+    //Full login queue -> 429 (LoginThrottledException)
+    //Body is the access token, refresh token goes to the cookie
     @PostMapping("/login")
-    public String createAuthenticationToken(@RequestBody AuthRequest authRequest) throws Exception {
+    public CompletableFuture<ResponseEntity<String>> createAuthenticationToken(@RequestBody AuthRequest authRequest) {
 
-        try {
-            // Authenticate and get Authentication object (with roles)
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
-            );
+        return loginService.authenticate(authRequest.getUsername(), authRequest.getPassword())
+                .handle((authentication, e) -> {
+                    if (e != null) {
+                        throw new BadCredentialsException("Incorrect username or password", e);
+                    }
 
-            // Generate token with Authentication (includes roles)
-            return jwtUtil.generateToken(authentication);
+                    // Generate tokens with Authentication (includes roles)
+                    return withTokens(authTokenService.issue(authentication));
+                });
+    }
 
-        } catch (Exception e) {
-            throw new Exception("Incorrect username or password", e);
-        }
 
+    //New access token + rotated refresh token
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+        return withTokens(authTokenService.refresh(refreshToken));
+    }
+
+
+    //Revokes the presented access token and the refresh cookie
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+
+        authTokenService.logout(accessToken, refreshToken);
+
+        return ResponseEntity.noContent()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+                .build();
+    }
+
+
+    private ResponseEntity<String> withTokens(AuthTokenService.TokenPair tokens) {
+        ResponseCookie cookie = refreshCookie(tokens.getRefreshToken(),
+                Duration.ofMillis(refreshTokenExpiration));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .body(tokens.getAccessToken());
+    }
+
+    private ResponseCookie refreshCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Strict")
+                .path("/auth")
+                .maxAge(maxAge)
+                .build();
     }
 
 
@@ -51,4 +104,5 @@ public class AuthController {
         private String password;
 
     }
+
 }
@@ -1,18 +1,28 @@
 package com.example.graduation.controller;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.student.CreateStudentDTO;
 import com.example.graduation.dto.student.StudentDTO;
 import com.example.graduation.dto.student.UpdateStudentDTO;
 import com.example.graduation.entity.Student;
+import com.example.graduation.repository.projection.CountMode;
 import com.example.graduation.service.StudentService;
 import jakarta.validation.Valid;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
+import com.example.graduation.dto.importer.ImportJobDTO;
+import com.example.graduation.importer.CsvImporter;
+import com.example.graduation.importer.ImportTarget;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -21,22 +31,72 @@ import org.springframework.web.bind.annotation.*;
 public class StudentController {
 
     private final StudentService studentService;
+    private final CsvImporter csvImporter;
 
 
     //Read
     @GetMapping
-    public Page<StudentDTO> getStudents(
+    //countMode=NONE - no totals, just hasNext; CACHED - approximate totals without counting every page
+    public Slice<StudentDTO> getStudents(
         @RequestParam(required = false) String firstName,
         @RequestParam(required = false) String lastName,
         @RequestParam(required = false) String studentNumber,
         @RequestParam(defaultValue = "0") int pageNumber,
         @RequestParam(defaultValue = "10") int pageSize,
         @RequestParam(defaultValue = "id") String sortField,
-        @RequestParam(defaultValue = "asc") String sortDir
+        @RequestParam(defaultValue = "asc") String sortDir,
+        @RequestParam(defaultValue = "EXACT") CountMode countMode
     ) {
 
         return studentService.getAllStudents(
-                firstName, lastName, studentNumber, pageNumber, pageSize, sortField, sortDir);
+                firstName, lastName, studentNumber, pageNumber, pageSize, sortField, sortDir, countMode);
+    }
+
+    //Read - cursor (keyset) mode, picked when ?cursor= is present
+    //Empty cursor for the first page, then nextCursor from the previous response
+    @GetMapping(params = "cursor")
+    public CursorPage<StudentDTO> getStudentsByCursor(
+        @RequestParam(required = false) String firstName,
+        @RequestParam(required = false) String lastName,
+        @RequestParam(required = false) String studentNumber,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(defaultValue = "id") String sortField,
+        @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+
+        return studentService.getStudentsAfter(
+                firstName, lastName, studentNumber, cursor, pageSize, sortField, sortDir);
+    }
+
+    //Export - whole filtered list as a download, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+        @RequestParam(required = false) String firstName,
+        @RequestParam(required = false) String lastName,
+        @RequestParam(required = false) String studentNumber,
+        @RequestParam(defaultValue = "CSV") ExportFormat format
+    ) {
+
+        return Exporter.attachment("students", format,
+                studentService.exportStudents(firstName, lastName, studentNumber, format));
+    }
+
+    //Import - CSV upload with a firstName,lastName,studentNumber header, runs in the background
+    //202 with the job - poll GET /import/{jobId} for progress and rejected rows
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importStudents(@RequestParam MultipartFile file) {
+        ImportJobDTO job = csvImporter.start(ImportTarget.STUDENTS, file);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/students/import/" + job.getId())
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getStudentImport(@PathVariable String jobId) {
+        return csvImporter.getJob(ImportTarget.STUDENTS, jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
 
@@ -1,17 +1,27 @@
 package com.example.graduation.controller;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.teacher.CreateTeacherDTO;
 import com.example.graduation.dto.teacher.TeacherDTO;
 import com.example.graduation.dto.teacher.UpdateTeacherDTO;
+import com.example.graduation.repository.projection.CountMode;
 import com.example.graduation.service.TeacherService;
 import jakarta.validation.Valid;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
+import com.example.graduation.dto.importer.ImportJobDTO;
+import com.example.graduation.importer.CsvImporter;
+import com.example.graduation.importer.ImportTarget;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -20,22 +30,72 @@ import org.springframework.web.bind.annotation.*;
 public class TeacherController {
 
     private final TeacherService teacherService;
+    private final CsvImporter csvImporter;
 
 
     //Read
     @GetMapping
-    public Page<TeacherDTO> getTeachers(
+    //countMode=NONE - no totals, just hasNext; CACHED - approximate totals without counting every page
+    public Slice<TeacherDTO> getTeachers(
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName,
             @RequestParam(required = false) String teacherNumber,
             @RequestParam(defaultValue = "0") int pageNumber,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortField,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode
     ) {
 
         return teacherService.getAllTeachers(
-                firstName, lastName, teacherNumber, pageNumber, pageSize, sortField, sortDir);
+                firstName, lastName, teacherNumber, pageNumber, pageSize, sortField, sortDir, countMode);
+    }
+
+    //Read - cursor (keyset) mode, picked when ?cursor= is present
+    //Empty cursor for the first page, then nextCursor from the previous response
+    @GetMapping(params = "cursor")
+    public CursorPage<TeacherDTO> getTeachersByCursor(
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) String teacherNumber,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortField,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+
+        return teacherService.getTeachersAfter(
+                firstName, lastName, teacherNumber, cursor, pageSize, sortField, sortDir);
+    }
+
+    //Export - whole filtered list as a download, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTeachers(
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) String teacherNumber,
+            @RequestParam(defaultValue = "CSV") ExportFormat format
+    ) {
+
+        return Exporter.attachment("teachers", format,
+                teacherService.exportTeachers(firstName, lastName, teacherNumber, format));
+    }
+
+    //Import - CSV upload with a firstName,lastName,teacherNumber header, runs in the background
+    //202 with the job - poll GET /import/{jobId} for progress and rejected rows
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importTeachers(@RequestParam MultipartFile file) {
+        ImportJobDTO job = csvImporter.start(ImportTarget.TEACHERS, file);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/teachers/import/" + job.getId())
+                .body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDTO> getTeacherImport(@PathVariable String jobId) {
+        return csvImporter.getJob(ImportTarget.TEACHERS, jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     //Get Teacher By ID
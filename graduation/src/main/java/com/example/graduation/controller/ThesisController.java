@@ -1,17 +1,26 @@
 package com.example.graduation.controller;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.thesis.*;
 import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.service.BulkThesisService;
 import com.example.graduation.service.ThesisService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.nio.file.AccessDeniedException;
+import java.util.List;
 
 
 @RestController
@@ -20,6 +29,7 @@ import java.nio.file.AccessDeniedException;
 public class ThesisController {
 
     private final ThesisService thesisService;
+    private final BulkThesisService bulkThesisService;
 
 
     //Student View Methods
@@ -52,36 +62,71 @@ public class ThesisController {
     //Read
     //
     //Submitted Theses
+    //countMode=NONE - no totals, just hasNext; CACHED - approximate totals without counting every page
     @GetMapping("/submitted")
     //Only ROLE_TEACHER can see Submitted Theses
     @PreAuthorize("hasRole('TEACHER')")
-    public Page<SubmittedThesisDTO> getAllSubmittedTheses(
+    public Slice<SubmittedThesisDTO> getAllSubmittedTheses(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String studentNumber,
             @RequestParam(defaultValue = "0") int pageNumber,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortField,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode
     ) {
 
         return thesisService.getAllSubmittedTheses(
-                title, studentNumber, pageNumber, pageSize, sortField, sortDir);
+                title, studentNumber, pageNumber, pageSize, sortField, sortDir, countMode);
+    }
+
+    //Cursor (keyset) mode
+    @GetMapping(value = "/submitted", params = "cursor")
+    //Only ROLE_TEACHER can see Submitted Theses
+    @PreAuthorize("hasRole('TEACHER')")
+    public CursorPage<SubmittedThesisDTO> getSubmittedThesesByCursor(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String studentNumber,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortField,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+
+        return thesisService.getSubmittedThesesAfter(
+                title, studentNumber, cursor, pageSize, sortField, sortDir);
     }
 
 
     //Approved Theses
     @GetMapping("/approved")
-    public Page<ApprovedThesisDTO> getAllApprovedTheses(
+    public Slice<ApprovedThesisDTO> getAllApprovedTheses(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String studentNumber,
             @RequestParam(defaultValue = "0") int pageNumber,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortField,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode
     ) {
 
         return thesisService.getAllApprovedTheses(
-                title, studentNumber, pageNumber, pageSize, sortField, sortDir);
+                title, studentNumber, pageNumber, pageSize, sortField, sortDir, countMode);
+    }
+
+    //Cursor (keyset) mode
+    @GetMapping(value = "/approved", params = "cursor")
+    public CursorPage<ApprovedThesisDTO> getApprovedThesesByCursor(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String studentNumber,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortField,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+
+        return thesisService.getApprovedThesesAfter(
+                title, studentNumber, cursor, pageSize, sortField, sortDir);
     }
 
 
@@ -89,18 +134,81 @@ public class ThesisController {
     @GetMapping("/defended")
     //Only ROLE_TEACHER can see Defended Theses
     @PreAuthorize("hasRole('TEACHER')")
-    public Page<DefendedThesisDTO> getAllDefendedTheses(
+    public Slice<DefendedThesisDTO> getAllDefendedTheses(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String studentNumber,
             @RequestParam(required = false) Grade grade,
             @RequestParam(defaultValue = "0") int pageNumber,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "id") String sortField,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode
     ) {
 
         return thesisService.getAllDefendedTheses(
-                title, studentNumber, grade, pageNumber, pageSize, sortField, sortDir);
+                title, studentNumber, grade, pageNumber, pageSize, sortField, sortDir, countMode);
+    }
+
+    //Cursor (keyset) mode
+    @GetMapping(value = "/defended", params = "cursor")
+    //Only ROLE_TEACHER can see Defended Theses
+    @PreAuthorize("hasRole('TEACHER')")
+    public CursorPage<DefendedThesisDTO> getDefendedThesesByCursor(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String studentNumber,
+            @RequestParam(required = false) Grade grade,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "id") String sortField,
+            @RequestParam(defaultValue = "asc") String sortDir
+    ) {
+
+        return thesisService.getDefendedThesesAfter(
+                title, studentNumber, grade, cursor, pageSize, sortField, sortDir);
+    }
+
+
+    //Title search - full-text, best match first
+    //All statuses unless ?status= is given
+    @GetMapping("/search")
+    //Only ROLE_TEACHER can search all Theses
+    @PreAuthorize("hasRole('TEACHER')")
+    public Slice<ThesisSearchDTO> searchTheses(
+            @RequestParam String q,
+            @RequestParam(required = false) ThesisStatus status,
+            @RequestParam(defaultValue = "0") int pageNumber,
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(defaultValue = "EXACT") CountMode countMode
+    ) {
+
+        return thesisService.searchTheses(q, status, pageNumber, pageSize, countMode);
+    }
+
+
+    //Export - whole filtered list as a download, streamed row by row
+    //e.g. ?status=DEFENDED&format=CSV for the registry
+    @GetMapping("/export")
+    //Only ROLE_TEACHER can export Theses
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportTheses(
+            @RequestParam(required = false) ThesisStatus status,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String studentNumber,
+            @RequestParam(required = false) Grade grade,
+            @RequestParam(defaultValue = "CSV") ExportFormat format
+    ) {
+
+        return Exporter.attachment("theses", format,
+                thesisService.exportTheses(status, title, studentNumber, grade, format));
+    }
+
+
+    //Dashboard - theses per Status and per Grade
+    @GetMapping("/stats")
+    //Only ROLE_TEACHER can see the counts
+    @PreAuthorize("hasRole('TEACHER')")
+    public ThesisStatsDTO getThesisStats() {
+        return thesisService.getThesisStats();
     }
 
 
@@ -168,6 +276,15 @@ public class ThesisController {
         return ResponseEntity.ok(approvedThesis);
     }
 
+    //Many Submitted Theses -> Approved / Rejected at once
+    //Body has ids or a filter (title, studentNumber) - one outcome per thesis
+    @PostMapping("/submitted/transition")
+    //Only ROLE_TEACHER can Approve / Reject Submitted Theses
+    @PreAuthorize("hasRole('TEACHER')")
+    public BulkTransitionResultDTO transitionSubmittedTheses(@Valid @RequestBody BulkTransitionDTO request) {
+        return bulkThesisService.transitionSubmittedTheses(request);
+    }
+
     //Approved Thesis -> Defended Thesis
     //Only ROLE_TEACHER can change Thesis status to Defended
     @PreAuthorize("hasRole('TEACHER')")
@@ -181,6 +298,21 @@ public class ThesisController {
         return ResponseEntity.ok(defendedThesis);
     }
 
+    //Many Approved Theses -> Defended Theses - the grades of a whole defense session
+    //JSON [{"id": 1, "grade": "5.50"}, ...] or CSV with an id,grade header
+    //Grade as GRADE_5_50 or 5.50 - one bad row and nothing is saved, every bad row is listed
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping(value = "/approved/defend", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkTransitionResultDTO defendTheses(@RequestBody List<GradeEntryDTO> grades) {
+        return bulkThesisService.defendTheses(grades);
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping(value = "/approved/defend", consumes = "text/csv")
+    public BulkTransitionResultDTO defendThesesFromCsv(@RequestBody String csv) {
+        return bulkThesisService.defendThesesFromCsv(csv);
+    }
+
 
 
     //Delete
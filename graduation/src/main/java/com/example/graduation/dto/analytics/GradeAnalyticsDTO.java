@@ -0,0 +1,20 @@
+package com.example.graduation.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GradeAnalyticsDTO {
+
+    private GradeStatsDTO overall;
+
+    //Student number prefix -> stats, only when grouping by cohort was asked for
+    private Map<String, GradeStatsDTO> byCohort;
+}
@@ -0,0 +1,31 @@
+package com.example.graduation.dto.analytics;
+
+import com.example.graduation.entity.enums.Grade;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+//Grades of defended theses - averages are null when nothing is graded
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GradeStatsDTO {
+
+    private long graded;
+
+    private Double mean;
+    private Double median;
+    private Double p25;
+    private Double p75;
+    private Double p90;
+
+    //Share of graded theses at 3.00 or above
+    private Double passRate;
+
+    //Every Grade is present, 0 if nobody got it
+    private Map<Grade, Long> distribution;
+}
@@ -0,0 +1,37 @@
+package com.example.graduation.dto.importer;
+
+import com.example.graduation.importer.ImportStatus;
+import com.example.graduation.importer.ImportTarget;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+//Progress of a CSV import - poll until status is COMPLETED or FAILED
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobDTO {
+
+    private String id;
+    private ImportTarget target;
+    private ImportStatus status;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    //Data lines read so far, inserted (committed) and rejected
+    private long rowsRead;
+    private long imported;
+    private long failed;
+
+    //Why the whole import stopped - rows committed before that stay
+    private String message;
+
+    //First import.max-errors rejected rows, in file order per chunk
+    private List<ImportRowErrorDTO> errors;
+}
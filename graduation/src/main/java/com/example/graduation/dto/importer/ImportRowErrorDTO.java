@@ -0,0 +1,18 @@
+package com.example.graduation.dto.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//A rejected line of an import file
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowErrorDTO {
+
+    private long line;
+    private String number;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.example.graduation.dto.thesis;
+
+import com.example.graduation.entity.enums.ThesisStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+//Submitted theses to move to APPROVED or REJECTED - either ids or filter, not both
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransitionDTO {
+
+    private List<Long> ids;
+
+    private ThesisFilterDTO filter;
+
+    @NotNull(message = "Target status is required")
+    private ThesisStatus targetStatus;
+}
@@ -0,0 +1,23 @@
+package com.example.graduation.dto.thesis;
+
+import com.example.graduation.entity.enums.ThesisStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+//One outcome per requested id, in request order (id order for a filter)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransitionResultDTO {
+
+    private ThesisStatus targetStatus;
+
+    private int updated;
+
+    private List<ThesisTransitionDTO> outcomes;
+}
@@ -0,0 +1,19 @@
+package com.example.graduation.dto.thesis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//One line of a defense session's grade sheet
+//Grade as text - GRADE_5_50 or 5.50 - so a bad value is reported with its row instead of failing the whole body
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GradeEntryDTO {
+
+    private Long id;
+
+    private String grade;
+}
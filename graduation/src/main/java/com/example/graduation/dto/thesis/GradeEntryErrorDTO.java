@@ -0,0 +1,18 @@
+package com.example.graduation.dto.thesis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Why a grade sheet line can't be applied - row is the 1-based array index or CSV line
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GradeEntryErrorDTO {
+
+    private long row;
+    private Long id;
+    private String message;
+}
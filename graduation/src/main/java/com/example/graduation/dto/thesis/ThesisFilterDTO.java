@@ -0,0 +1,17 @@
+package com.example.graduation.dto.thesis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Same filters as the thesis lists - blank fields match everything
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThesisFilterDTO {
+
+    private String title;
+    private String studentNumber;
+}
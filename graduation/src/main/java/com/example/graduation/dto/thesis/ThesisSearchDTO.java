@@ -0,0 +1,26 @@
+package com.example.graduation.dto.thesis;
+
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Thesis of any status - title search results (best match first) and exports
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThesisSearchDTO {
+
+    private Long id;
+    private String title;
+
+    private ThesisStatus status;
+
+    private Long studentId;
+    private String studentNumber;
+
+    private Grade grade; // Only for DEFENDED
+}
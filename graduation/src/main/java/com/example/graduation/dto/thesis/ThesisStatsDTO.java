@@ -0,0 +1,24 @@
+package com.example.graduation.dto.thesis;
+
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+//Dashboard numbers - theses per Status and per Grade
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThesisStatsDTO {
+
+    private long total;
+
+    //Every Status / Grade is present, 0 if there are none
+    private Map<ThesisStatus, Long> byStatus;
+    private Map<Grade, Long> byGrade;
+}
@@ -0,0 +1,19 @@
+package com.example.graduation.dto.thesis;
+
+import com.example.graduation.entity.enums.ThesisStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Outcome for one id of a bulk transition - status after the request, null if not found
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThesisTransitionDTO {
+
+    private Long id;
+    private TransitionOutcome outcome;
+    private ThesisStatus status;
+}
@@ -0,0 +1,9 @@
+package com.example.graduation.dto.thesis;
+
+//What a bulk transition did to one thesis
+public enum TransitionOutcome {
+    UPDATED,
+    NOT_FOUND,
+    //Was not SUBMITTED any more - status holds what it is now
+    WRONG_STATUS
+}
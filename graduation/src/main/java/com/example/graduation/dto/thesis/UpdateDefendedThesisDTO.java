@@ -15,4 +15,8 @@ public class UpdateDefendedThesisDTO {
     private Long id;
 
     private Grade grade;
+
+    //Version the edit form was loaded with - sent back, a thesis changed in between is a 409
+    //null skips the check against the form, the write itself is still compare-and-set
+    private Long version;
 }
@@ -16,4 +16,8 @@ public class UpdateSubmittedThesisDTO {
 
     @NotBlank(message = "Thesis title cannot be empty")
     private String title;
+
+    //Version the edit form was loaded with - sent back, a thesis changed in between is a 409
+    //null skips the check against the form, the write itself is still compare-and-set
+    private Long version;
 }
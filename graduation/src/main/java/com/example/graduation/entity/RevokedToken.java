@@ -0,0 +1,27 @@
+package com.example.graduation.entity;
+
+import com.example.graduation.entity.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+//Revoked JWT id (jti) - kept until the token would have expired anyway
+@Entity
+@Table(name = "revoked_tokens")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RevokedToken extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+}
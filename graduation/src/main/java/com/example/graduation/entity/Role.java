@@ -1,15 +1,24 @@
 package com.example.graduation.entity;
 
+import com.example.graduation.config.SecondLevelCacheConfig;
 import com.example.graduation.entity.common.BaseEntity;
+import com.example.graduation.entity.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(EntityChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLE)
+@NaturalIdCache(region = SecondLevelCacheConfig.ROLE_NATURAL_ID)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -19,6 +28,11 @@ public class Role
         implements GrantedAuthority {
 
 
+    //RoleRepository.findByRoleName - resolved through the natural-id cache
+    //Mutable - a renamed role moves its natural-id cache entry along
+    //Unique - ux_roles_role_name (V7)
+    @NaturalId(mutable = true)
+    @Column(unique = true)
     private String roleName;
 
     @Override
@@ -1,11 +1,20 @@
 package com.example.graduation.entity;
 
+import com.example.graduation.config.SecondLevelCacheConfig;
 import com.example.graduation.entity.common.BaseEntity;
+import com.example.graduation.entity.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "student")
+@EntityListeners(EntityChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.STUDENT)
+@NaturalIdCache(region = SecondLevelCacheConfig.STUDENT_NATURAL_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -19,18 +28,14 @@ public class Student extends BaseEntity {
     @Column(nullable = false)
     private String lastName;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String studentNumber; // e.g., university ID
 
 
-    //The thesis of the student
-    @OneToOne(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    public Thesis thesis;
-
-
-    //Associate with Profile
-    @OneToOne(mappedBy = "student_owner", fetch = FetchType.LAZY)
-    private User profile;
+    //Thesis (Thesis.student) and Profile (User.student_owner) are mapped on the owning side only
+    //An inverse @OneToOne can't be lazy - each cost one more query per Student load, cache hits included
+    //The thesis is found with ThesisRepository.findByStudentId
 
 
 }
\ No newline at end of file
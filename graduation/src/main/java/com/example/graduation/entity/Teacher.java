@@ -1,14 +1,23 @@
 package com.example.graduation.entity;
 
+import com.example.graduation.config.SecondLevelCacheConfig;
 import com.example.graduation.entity.common.BaseEntity;
+import com.example.graduation.entity.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "teacher")
+@EntityListeners(EntityChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TEACHER)
+@NaturalIdCache(region = SecondLevelCacheConfig.TEACHER_NATURAL_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -23,13 +32,13 @@ public class Teacher extends BaseEntity {
     private String lastName;
 
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String teacherNumber; // e.g., university ID
 
 
-    //Associate with Profile
-    @OneToOne(mappedBy = "teacher_owner")
-    private User profile;
+    //Profile (User.teacher_owner) is mapped on the owning side only
+    //An inverse @OneToOne can't be lazy - it cost one more query per Teacher load, cache hits included
 
 
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.graduation.entity;
 import com.example.graduation.entity.common.BaseEntity;
 import com.example.graduation.entity.enums.Grade;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,13 +12,13 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "thesis")
+@EntityListeners(EntityChangeListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class Thesis extends BaseEntity {
 
-
     @Column(nullable = false)
     private String title;
 
@@ -35,4 +36,9 @@ public class Thesis extends BaseEntity {
 
     @Enumerated(EnumType.STRING) // important! store enum as string in DB
     private Grade grade;
+
+
+    //Optimistic locking - bumped by every write, JPQL / JDBC updates included
+    @Version
+    private Long version;
 }
@@ -0,0 +1,26 @@
+package com.example.graduation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+//Running number of theses per Status / per Grade - one row per counter
+//Read by /api/theses/stats instead of COUNT(*) over thesis, kept in step by ThesisCounters
+@Entity
+@Table(name = "thesis_counter")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ThesisCounter {
+
+    //STATUS:<ThesisStatus> or GRADE:<Grade>
+    @Id
+    @Column(name = "counter_name", length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private long total;
+}
@@ -1,11 +1,17 @@
 package com.example.graduation.entity;
 
+import com.example.graduation.config.SecondLevelCacheConfig;
 import com.example.graduation.entity.common.BaseEntity;
+import com.example.graduation.entity.listener.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -16,6 +22,9 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(EntityChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER)
+@NaturalIdCache(region = SecondLevelCacheConfig.USER_NATURAL_ID)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -25,12 +34,16 @@ public class User
         implements UserDetails {
 
 
+    //UserRepository.findByUsername - resolved through the natural-id cache
+    @NaturalId
     private String username;
     private String password;
 
 
     //ROLES THAT THE USER HAS
+    //Role ids of the user cached with it - the Roles themselves come from the role region
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_ROLES)
     private List<Role> roles;
 
 
@@ -1,7 +1,5 @@
 package com.example.graduation.entity.common;
 
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.AllArgsConstructor;
@@ -16,8 +14,9 @@ import lombok.Setter;
 @Setter
 public class BaseEntity {
 
+    //Not IDENTITY - ids come from the id_generator table in blocks, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId
     protected Long id;
 
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.graduation.entity.common;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+//Id taken from a block reserved in the id_generator table - see PooledIdGenerator
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface PooledId {
+}
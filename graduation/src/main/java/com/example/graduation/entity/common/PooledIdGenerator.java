@@ -0,0 +1,43 @@
+package com.example.graduation.entity.common;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+//Table hi/lo ids - one id_generator row per entity table, next_val is the next free id
+//Each instance reserves graduation.id.allocation_size ids in one short transaction and hands them out in memory,
+//so inserts no longer need the generated key back and Hibernate can batch them (hibernate.jdbc.batch_size)
+//A table instead of a sequence - MySQL has none, and H2 then runs the same SQL
+//pooled-lo: a block is [next_val, next_val + size), so instances with different sizes never overlap
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String TABLE = "id_generator";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    //spring.jpa.properties.graduation.id.allocation_size
+    public static final String ALLOCATION_SIZE_SETTING = "graduation.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        parameters.put(TABLE_PARAM, TABLE);
+        parameters.put(SEGMENT_COLUMN_PARAM, SEGMENT_COLUMN);
+        parameters.put(VALUE_COLUMN_PARAM, VALUE_COLUMN);
+        //Segment = the entity's table, e.g. "student"
+        parameters.put(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, "pooled-lo");
+
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
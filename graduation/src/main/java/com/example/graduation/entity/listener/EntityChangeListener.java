@@ -0,0 +1,32 @@
+package com.example.graduation.entity.listener;
+
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+//JPA lifecycle -> Spring event
+//Consumers use @TransactionalEventListener so they only react after commit
+@AllArgsConstructor
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(entity, ChangeType.CREATED));
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(entity, ChangeType.UPDATED));
+    }
+
+    @PostRemove
+    public void onDeleted(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent(entity, ChangeType.DELETED));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.graduation.entity.listener;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//Published by EntityChangeListener whenever a listened entity is written
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+
+    private final Object entity;
+
+    private final ChangeType changeType;
+
+
+    public boolean isAbout(Class<?> entityType) {
+        return entityType.isInstance(entity);
+    }
+}
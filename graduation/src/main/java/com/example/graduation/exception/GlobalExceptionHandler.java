@@ -1,7 +1,10 @@
 package com.example.graduation.exception;
 
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -17,8 +20,104 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", ex.getMessage()));
     }
 
+    @ExceptionHandler(ThesisNotFoundException.class)
+    public ResponseEntity<?> handleThesisNotFound(ThesisNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Lookups by id that throw the JPA exception directly - "Thesis not found" etc.
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<?> handleEntityNotFound(EntityNotFoundException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     //New Exception classes go here
     //
+    //Login queue is full
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<?> handleLoginThrottled(LoginThrottledException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Missing, expired, revoked or wrong type of refresh token
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<?> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Cursor that can't be decoded or sort field that can't be used for keyset paging
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //pageSize out of range - below 1 on any list, above the cursor maximum on cursor lists
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<?> handleInvalidPageRequest(InvalidPageRequestException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Empty upload or CSV header without the required columns
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<?> handleInvalidImportFile(InvalidImportFileException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Bulk thesis request that can't be applied as a whole - nothing was changed
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public ResponseEntity<?> handleInvalidBulkRequest(InvalidBulkRequestException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //Grade sheet with rows that can't be applied - every bad row is listed
+    @ExceptionHandler(InvalidGradeSheetException.class)
+    public ResponseEntity<?> handleInvalidGradeSheet(InvalidGradeSheetException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("message", ex.getMessage(), "errors", ex.getErrors()));
+    }
+
+    //Thesis changed by someone else in the meantime - reload and try again
+    @ExceptionHandler(ThesisConflictException.class)
+    public ResponseEntity<?> handleThesisConflict(ThesisConflictException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    //@Version check of an entity write failed - same answer as a failed compare-and-set
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "Record was changed by someone else - reload it and try again"));
+    }
+
+    //Import queue is full
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<?> handleImportQueueFull(ImportQueueFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(Map.of("message", ex.getMessage()));
+    }
 
 
 
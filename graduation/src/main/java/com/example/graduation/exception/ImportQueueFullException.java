@@ -0,0 +1,7 @@
+package com.example.graduation.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException() {
+        super("Too many imports in progress. Please try again later.");
+    }
+}
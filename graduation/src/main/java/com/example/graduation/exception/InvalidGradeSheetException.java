@@ -0,0 +1,17 @@
+package com.example.graduation.exception;
+
+import com.example.graduation.dto.thesis.GradeEntryErrorDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class InvalidGradeSheetException extends RuntimeException {
+
+    private final List<GradeEntryErrorDTO> errors;
+
+    public InvalidGradeSheetException(List<GradeEntryErrorDTO> errors) {
+        super("Grade sheet has " + errors.size() + " invalid row(s) - nothing was saved");
+        this.errors = errors;
+    }
+}
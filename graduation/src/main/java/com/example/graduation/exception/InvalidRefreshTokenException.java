@@ -0,0 +1,7 @@
+package com.example.graduation.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super("Refresh token is missing, invalid or revoked.");
+    }
+}
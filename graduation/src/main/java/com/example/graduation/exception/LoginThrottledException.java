@@ -0,0 +1,7 @@
+package com.example.graduation.exception;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException() {
+        super("Too many login attempts in progress. Please try again.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.graduation.exception;
+
+public class ThesisConflictException extends RuntimeException {
+    public ThesisConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.graduation.export;
+
+import java.util.function.Function;
+
+//CSV column - header + value of a row
+public record ExportColumn<D>(String header, Function<D, Object> value) {
+
+    public static <D> ExportColumn<D> of(String header, Function<D, Object> value) {
+        return new ExportColumn<>(header, value);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.graduation.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+//Writes a row stream straight into the response - one row in memory at a time
+//The body runs on an MVC async thread after the controller returns,
+//so the query opens (and closes) its own read-only transaction there
+@Component
+public class Exporter {
+
+    //No flush per row - the buffers decide when bytes go out
+    private final ObjectWriter jsonWriter;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+
+    public Exporter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+
+    //Body for ResponseEntity - rows is only called once the body is written
+    public <D> StreamingResponseBody body(ExportFormat format, List<ExportColumn<D>> columns, Supplier<Stream<D>> rows) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> write(format, columns, rows, out));
+    }
+
+    //Download response - name.csv / name.ndjson
+    public static ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                                   StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+
+
+    private <D> void write(ExportFormat format, List<ExportColumn<D>> columns,
+                           Supplier<Stream<D>> rows, OutputStream out) {
+
+        try (Stream<D> stream = rows.get()) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(columns, stream.iterator(), out);
+            } else {
+                writeNdjson(stream.iterator(), out);
+            }
+        } catch (IOException ex) {
+            //Client went away - rolls back the (read-only) transaction and closes the cursor
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    //RFC 4180 - header line, CRLF line ends, fields quoted only when they need it
+    private <D> void writeCsv(List<ExportColumn<D>> columns, Iterator<D> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        writeCsvLine(writer, columns.stream().map(ExportColumn::header).toList());
+        while (rows.hasNext()) {
+            D row = rows.next();
+            writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+        }
+
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private <D> void writeNdjson(Iterator<D> rows, OutputStream out) throws IOException {
+        //Generator must not close the response stream after each value
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(out));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        while (rows.hasNext()) {
+            jsonWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+        }
+
+        generator.flush();
+    }
+}
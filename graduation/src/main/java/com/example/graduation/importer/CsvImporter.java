@@ -0,0 +1,332 @@
+package com.example.graduation.importer;
+
+import com.example.graduation.config.CacheConfig;
+import com.example.graduation.dto.importer.ImportJobDTO;
+import com.example.graduation.exception.ImportQueueFullException;
+import com.example.graduation.exception.InvalidImportFileException;
+import com.example.graduation.repository.IdBlockRepository;
+import com.example.graduation.repository.projection.ListTotals;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+//Bulk CSV import of students / teachers - header firstName,lastName,studentNumber (or teacherNumber)
+//The upload is parked in a temp file and read in chunks of import.chunk-size rows on a small bounded pool:
+//  rows of a chunk are validated in parallel, numbers seen earlier in the file or already in the table are rejected,
+//  the rest is inserted with one JDBC batch and committed - a failure later on keeps the chunks already committed
+//Queued and running jobs are kept in a map, so they can't be evicted while they can still change
+//Finished ones move to the importJobs cache (progress and rejected rows) - cache.import-jobs.spec
+@Service
+public class CsvImporter {
+
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final IdBlockRepository idBlockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ListTotals listTotals;
+
+    private final ThreadPoolExecutor executor;
+
+    //Jobs not finished yet, by id - bounded by import.threads + import.queue-capacity
+    private final Map<String, ImportJob> activeJobs = new ConcurrentHashMap<>();
+
+    private final int chunkSize;
+    private final int maxErrors;
+
+
+    public CsvImporter(Validator validator,
+                       JdbcTemplate jdbcTemplate,
+                       NamedParameterJdbcTemplate namedJdbcTemplate,
+                       IdBlockRepository idBlockRepository,
+                       PlatformTransactionManager transactionManager,
+                       CacheManager cacheManager,
+                       ListTotals listTotals,
+                       @Value("${import.threads:1}") int threads,
+                       @Value("${import.queue-capacity:10}") int queueCapacity,
+                       @Value("${import.chunk-size:1000}") int chunkSize,
+                       @Value("${import.max-errors:1000}") int maxErrors) {
+
+        this.validator = validator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.idBlockRepository = idBlockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.listTotals = listTotals;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ImportThreadFactory());
+    }
+
+
+    //Header is checked before the job is queued, so a wrong file fails right away with 400
+    //Fails with ImportQueueFullException when import.queue-capacity imports are already waiting
+    public ImportJobDTO start(ImportTarget target, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidImportFileException("Upload a non-empty CSV file");
+        }
+
+        Path path = null;
+        try {
+            path = Files.createTempFile("import-", ".csv");
+            file.transferTo(path);
+
+            int[] columns = readHeader(target, path);
+
+            //Registered before execute - run could finish and move the job to the cache before a later put
+            ImportJob job = new ImportJob(target, maxErrors);
+            activeJobs.put(job.getId(), job);
+
+            Path upload = path;
+            try {
+                executor.execute(() -> run(job, upload, columns));
+            } catch (RejectedExecutionException ex) {
+                activeJobs.remove(job.getId());
+                throw ex;
+            }
+            return job.toDTO();
+
+        } catch (IOException ex) {
+            deleteQuietly(path);
+            throw new UncheckedIOException(ex);
+        } catch (InvalidImportFileException ex) {
+            deleteQuietly(path);
+            throw ex;
+        } catch (RejectedExecutionException ex) {
+            deleteQuietly(path);
+            throw new ImportQueueFullException();
+        }
+    }
+
+    //Jobs of the other target are not visible - /api/students/import/{id} only finds student imports
+    public Optional<ImportJobDTO> getJob(ImportTarget target, String id) {
+        ImportJob job = activeJobs.get(id);
+        if (job == null) {
+            job = jobs().get(id, ImportJob.class);
+        }
+        return job == null || job.getTarget() != target ? Optional.empty() : Optional.of(job.toDTO());
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    private void run(ImportJob job, Path path, int[] columns) {
+        job.started();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            records.next();
+
+            //Numbers of the whole file so far - duplicates further down are rejected, the first one wins
+            Set<String> seen = new HashSet<>();
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = records.next()) != null) {
+                chunk.add(new ImportRow(records.getRecordLine(),
+                        field(record, columns[0]), field(record, columns[1]), field(record, columns[2])));
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, seen);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, seen);
+            }
+
+            job.completed();
+
+        } catch (Exception ex) {
+            job.failed(ex.getMessage());
+        } finally {
+            deleteQuietly(path);
+            listTotals.clear();
+
+            //Cache first, then out of the map - a poll in between finds it in one of them
+            jobs().put(job.getId(), job);
+            activeJobs.remove(job.getId());
+        }
+    }
+
+
+    private void importChunk(ImportJob job, List<ImportRow> chunk, Set<String> seen) {
+        job.read(chunk.size());
+        ImportTarget target = job.getTarget();
+
+        //Bean Validation is CPU only - spread the rows over the common pool, results come back in file order
+        List<String> violations = chunk.parallelStream()
+                .map(row -> violations(target, row))
+                .toList();
+
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            if (!violations.get(i).isEmpty()) {
+                job.reject(row, violations.get(i));
+            } else if (!seen.add(row.number())) {
+                job.reject(row, "Duplicate number in the file");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        //One IN (...) query per chunk instead of one lookup per row
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(target.existingNumbersSql(),
+                Map.of("numbers", candidates.stream().map(ImportRow::number).toList()), String.class));
+
+        List<ImportRow> rows = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(row.number())) {
+                job.reject(row, "Number already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+
+        insert(job, rows);
+    }
+
+    //One batch, one commit per chunk - ids are one block from id_generator, reserved up front
+    //A number inserted by someone else since the check fails the batch - then the chunk goes row by row
+    private void insert(ImportJob job, List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String sql = job.getTarget().insertSql();
+        long firstId = idBlockRepository.reserve(job.getTarget().getTable(), rows.size());
+
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            values.add(new Object[]{firstId + i, row.firstName(), row.lastName(), row.number()});
+        }
+
+        try {
+            //Update counts are not checked - with rewriteBatchedStatements they are SUCCESS_NO_INFO
+            //A failed row throws, so every row of a committed batch was inserted
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, values));
+            job.imported(rows.size());
+
+        } catch (DuplicateKeyException ex) {
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = values.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, row));
+                    job.imported(1);
+                } catch (DuplicateKeyException duplicate) {
+                    job.reject(rows.get(i), "Number already exists");
+                }
+            }
+        }
+    }
+
+
+    //Messages of the failed constraints, "" if the row is valid
+    private String violations(ImportTarget target, ImportRow row) {
+        return validator.validate(target.toDto(row)).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    //Column indexes of firstName, lastName and the number - any order, extra columns are ignored
+    private static int[] readHeader(ImportTarget target, Path path) throws IOException {
+        List<String> header;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            header = new CsvRecordReader(reader).next();
+        }
+        if (header == null) {
+            throw new InvalidImportFileException("Upload a non-empty CSV file");
+        }
+
+        List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        List<String> required = List.of(FIRST_NAME, LAST_NAME, target.getNumberHeader());
+
+        int[] columns = new int[required.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < required.size(); i++) {
+            columns[i] = names.indexOf(required.get(i).toLowerCase(Locale.ROOT));
+            if (columns[i] < 0) {
+                missing.add(required.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("CSV header is missing column(s): " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            //Temp directory is cleaned up by the OS anyway
+        }
+    }
+
+    private Cache jobs() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.IMPORT_JOBS));
+    }
+
+
+    private static class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.graduation.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+//RFC 4180 reader - the counterpart of the export writer
+//Quoted fields may contain commas, "" and line breaks; CRLF and LF line ends both work
+//Reads one record at a time, the file is never fully in memory
+public class CsvRecordReader {
+
+    private final Reader reader;
+
+    //Line the last returned record started on (1-based)
+    private long recordLine;
+    private long line = 1;
+
+    private int pushedBack = -1;
+
+
+    //reader should be buffered
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+
+    //Next record, null at the end of the file - blank lines are skipped
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\uFEFF' && line == 1 && !any) {
+                continue;
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(peek);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"') {
+                quoted = true;
+                any = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                any = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int peek = read();
+                    if (peek != '\n') {
+                        unread(peek);
+                    }
+                }
+                line++;
+                if (any || !field.isEmpty()) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                recordLine = line;
+            } else {
+                field.append((char) c);
+                any = true;
+            }
+        }
+
+        if (any || !field.isEmpty()) {
+            fields.add(field.toString());
+            return fields;
+        }
+        return null;
+    }
+
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
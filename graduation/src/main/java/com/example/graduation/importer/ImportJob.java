@@ -0,0 +1,80 @@
+package com.example.graduation.importer;
+
+import com.example.graduation.dto.importer.ImportJobDTO;
+import com.example.graduation.dto.importer.ImportRowErrorDTO;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+//Live state of one import - written by the import thread, read by GET .../import/{id}
+class ImportJob {
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+
+    @Getter
+    private final ImportTarget target;
+
+    private final int maxErrors;
+
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long failed;
+
+    //Capped - a file of bad rows must not fill the heap
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+
+    ImportJob(ImportTarget target, int maxErrors) {
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+
+    void started() {
+        startedAt = Instant.now();
+        status = ImportStatus.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = ImportStatus.COMPLETED;
+    }
+
+    void failed(String message) {
+        this.message = message;
+        finishedAt = Instant.now();
+        status = ImportStatus.FAILED;
+    }
+
+
+    //Counters only change on the import thread
+    void read(int rows) {
+        rowsRead += rows;
+    }
+
+    void imported(int rows) {
+        imported += rows;
+    }
+
+    synchronized void reject(ImportRow row, String reason) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportRowErrorDTO(row.line(), row.number(), reason));
+        }
+    }
+
+
+    synchronized ImportJobDTO toDTO() {
+        return new ImportJobDTO(id, target, status, startedAt, finishedAt,
+                rowsRead, imported, failed, message, List.copyOf(errors));
+    }
+}
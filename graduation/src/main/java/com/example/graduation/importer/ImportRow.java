@@ -0,0 +1,5 @@
+package com.example.graduation.importer;
+
+//One data line of an import file - line is the 1-based line in the file, for error reports
+record ImportRow(long line, String firstName, String lastName, String number) {
+}
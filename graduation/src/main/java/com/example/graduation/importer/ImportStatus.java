@@ -0,0 +1,8 @@
+package com.example.graduation.importer;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
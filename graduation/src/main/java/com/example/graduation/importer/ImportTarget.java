@@ -0,0 +1,45 @@
+package com.example.graduation.importer;
+
+import com.example.graduation.dto.student.CreateStudentDTO;
+import com.example.graduation.dto.teacher.CreateTeacherDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+//What a CSV import writes - the table, its number column (unique) and the Create DTO every row must pass
+@Getter
+@AllArgsConstructor
+public enum ImportTarget {
+
+    STUDENTS("student", "student_number", "studentNumber") {
+        @Override
+        Object toDto(ImportRow row) {
+            return new CreateStudentDTO(null, row.firstName(), row.lastName(), row.number());
+        }
+    },
+
+    TEACHERS("teacher", "teacher_number", "teacherNumber") {
+        @Override
+        Object toDto(ImportRow row) {
+            return new CreateTeacherDTO(null, row.firstName(), row.lastName(), row.number());
+        }
+    };
+
+
+    private final String table;
+    private final String numberColumn;
+
+    //CSV header of the number column - same name as the DTO field
+    private final String numberHeader;
+
+
+    //Validated with the same rules as POST /api/students or /api/teachers
+    abstract Object toDto(ImportRow row);
+
+    String insertSql() {
+        return "INSERT INTO " + table + " (id, first_name, last_name, " + numberColumn + ") VALUES (?, ?, ?, ?)";
+    }
+
+    String existingNumbersSql() {
+        return "SELECT " + numberColumn + " FROM " + table + " WHERE " + numberColumn + " IN (:numbers)";
+    }
+}
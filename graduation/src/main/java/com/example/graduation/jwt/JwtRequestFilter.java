@@ -1,12 +1,14 @@
 package com.example.graduation.jwt;
 
 import com.example.graduation.service.CustomUserDetailsService;
+import com.example.graduation.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,12 +19,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 
-    private CustomUserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
 
-    private JwtUtil jwtUtil;
+    private final JwtUtil jwtUtil;
+
+    private final VerifiedTokenCache tokenCache;
+
+    private final TokenRevocationService revocationService;
+
+    //Build the Authentication from token claims only - no users table lookup
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
 
     @Override
@@ -33,14 +43,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
 
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
 
             try {
-                username = jwtUtil.extractUsername(jwt);
+                //Repeat requests with the same token skip parsing and signature check
+                claims = tokenCache.get(jwt);
+
+                if (claims == null) {
+                    claims = jwtUtil.extractAllClaims(jwt);
+                    tokenCache.put(jwt, claims);
+                }
+
+                //Refresh tokens only work on /auth/refresh
+                //Revocation is an in-memory check - no DB query per request
+                if (jwtUtil.isRefreshToken(claims) || revocationService.isRevoked(claims.getId())) {
+                    throw new IllegalStateException("Token not accepted");
+                }
+
+                username = claims.getSubject();
             } catch (Exception e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
@@ -51,9 +75,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = statelessPrincipal && UserPrincipal.hasPrincipalClaims(claims)
+                    ? UserPrincipal.from(claims)
+                    : this.userDetailsService.loadUserByUsername(username);
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken token =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
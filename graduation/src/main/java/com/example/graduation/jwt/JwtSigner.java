@@ -0,0 +1,162 @@
+package com.example.graduation.jwt;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+//HS256 compact JWS - same wire format as jjwt 0.9.1, old tokens stay valid
+//Key is derived once and every thread keeps its own initialized Mac
+public final class JwtSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    //{"alg":"HS256"} - the header jjwt writes, checked without parsing JSON
+    private static final String HEADER = encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+
+    private final ThreadLocal<Mac> macs;
+
+
+    //Secret is Base64 - same decoding jjwt does for signWith(alg, String)
+    public JwtSigner(String base64Secret) {
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(base64Secret), ALGORITHM);
+
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+
+    public String sign(Map<String, Object> claims) {
+        String payload;
+        try {
+            payload = encode(OBJECT_MAPPER.writeValueAsBytes(claims));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize claims", e);
+        }
+
+        String signingInput = HEADER + '.' + payload;
+        byte[] signature = macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+        return signingInput + '.' + encode(signature);
+    }
+
+
+    //Verify signature, exp and nbf - throws the same exceptions as Jwts.parser()
+    public Claims verify(String token) {
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+
+        if (firstDot <= 0 || secondDot < 0 || secondDot == token.length() - 1
+                || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new MalformedJwtException("JWT must be a signed compact JWS");
+        }
+
+        byte[] ascii = token.getBytes(StandardCharsets.US_ASCII);
+
+        if (firstDot != HEADER.length() || !token.startsWith(HEADER)) {
+            checkHeader(ascii, firstDot);
+        }
+
+
+        //Signature over "header.payload"
+        Mac mac = macs.get();
+        mac.update(ascii, 0, secondDot);
+        byte[] expected = mac.doFinal();
+
+        byte[] actual;
+        try {
+            actual = decode(ascii, secondDot + 1, ascii.length - secondDot - 1);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Invalid JWT signature encoding", e);
+        }
+
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+
+        Claims claims = new DefaultClaims(readJson(ascii, firstDot + 1, secondDot - firstDot - 1));
+
+        long now = System.currentTimeMillis();
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null && now > expiration.getTime()) {
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + expiration);
+        }
+
+        Date notBefore = claims.getNotBefore();
+        if (notBefore != null && now < notBefore.getTime()) {
+            throw new PrematureJwtException(null, claims, "JWT must not be accepted before " + notBefore);
+        }
+
+        return claims;
+    }
+
+
+    //Slow path - header with other fields or key order
+    private static void checkHeader(byte[] ascii, int length) {
+        Map<String, Object> header = readJson(ascii, 0, length);
+
+        if (!"HS256".equals(header.get("alg"))) {
+            throw new UnsupportedJwtException("Unsupported JWT algorithm: " + header.get("alg"));
+        }
+    }
+
+    private static Map<String, Object> readJson(byte[] ascii, int offset, int length) {
+        try {
+            byte[] json = decode(ascii, offset, length);
+            return OBJECT_MAPPER.readValue(json, MAP_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new MalformedJwtException("Unable to read JWT JSON", e);
+        }
+    }
+
+
+    private static String encode(byte[] bytes) {
+        return URL_ENCODER.encodeToString(bytes);
+    }
+
+    //Decode a segment in place - no substring copies
+    private static byte[] decode(byte[] ascii, int offset, int length) {
+        ByteBuffer decoded = URL_DECODER.decode(ByteBuffer.wrap(ascii, offset, length));
+
+        if (decoded.arrayOffset() == 0 && decoded.array().length == decoded.remaining()) {
+            return decoded.array();
+        }
+
+        byte[] bytes = new byte[decoded.remaining()];
+        decoded.get(bytes);
+        return bytes;
+    }
+}
@@ -1,8 +1,9 @@
 package com.example.graduation.jwt;
 
-import io.jsonwebtoken.*;
+import com.example.graduation.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,13 +12,27 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
     private final String SECRET_KEY = "e86f05e89abca02befb7ebf7875a6e5fe528600c27f4835943ba45b281f3ab45dceb99d8c817bfcaf355f35d58518b6e460b52967b7cedd9a7cd4f084052ea2dfcbe12a38d458813717021535463cac48b58cd8f4896ad258d6ff4b185b64898d849835601a4da94003185f37ae832d525937717bb1f1c5b51167971d5747fe7";
-    private final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
+
+    //Access tokens are short-lived - /auth/refresh issues new ones from the refresh token
+    @Value("${jwt.access-token.expiration-ms:900000}")
+    private long accessTokenExpiration = 1000 * 60 * 15; // 15 minutes
+
+    @Value("${jwt.refresh-token.expiration-ms:604800000}")
+    private long refreshTokenExpiration = 1000L * 60 * 60 * 24 * 7; // 7 days
+
+    //Token type claim - refresh tokens are not accepted as access tokens
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_REFRESH = "refresh";
+
+    //Key and Mac are set up once, not on every sign/verify
+    private final JwtSigner signer = new JwtSigner(SECRET_KEY);
 
 
 
@@ -34,16 +49,50 @@ public class JwtUtil {
         claims.put("sub", auth.getName()); //Username
         claims.put("roles", roles); //Roles
 
+        //User ID and Student/Teacher ID - lets the filter skip the users table
+        UserPrincipal principal = toPrincipal(auth.getPrincipal());
+        if (principal != null) {
+            principal.writeClaims(claims);
+        }
+
+        return sign(claims, accessTokenExpiration);
+    }
+
+    //Only identifies the user - roles etc. are reloaded when it is exchanged
+    public String generateRefreshToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", username);
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+
+        return sign(claims, refreshTokenExpiration);
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE));
+    }
 
-        return Jwts.builder()
-                .setSubject(auth.getName())
-                .setClaims(claims)
 
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+    private String sign(Map<String, Object> claims, long expiration) {
+        //Token ID - lets a single token be revoked
+        claims.put(Claims.ID, UUID.randomUUID().toString());
 
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
-                .compact();
+        //Issued At and Expiration - in seconds like jjwt writes them
+        long now = System.currentTimeMillis();
+        claims.put(Claims.ISSUED_AT, now / 1000);
+        claims.put(Claims.EXPIRATION, (now + expiration) / 1000);
+
+        return signer.sign(claims);
+    }
+
+
+    private UserPrincipal toPrincipal(Object principal) {
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        if (principal instanceof User user) {
+            return UserPrincipal.from(user);
+        }
+        return null;
     }
 
 
@@ -53,23 +102,24 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    //Validate already verified Claims - no parsing or signature check
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 
 
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractAllClaims(token)
-                .getExpiration();
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
 
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims extractAllClaims(String token) {
+        return signer.verify(token);
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.graduation.jwt;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+//Lightweight principal - everything the request needs without the User entity
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails, AuthenticatedPrincipal {
+
+    //Claim names used in the token
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_STUDENT_ID = "studentId";
+    public static final String CLAIM_TEACHER_ID = "teacherId";
+
+
+    private final Long id;
+    private final String username;
+    private final String password; //null when built from token claims
+
+    private final List<String> roles;
+
+    //Associated Student or Teacher - null if none
+    private final Long studentId;
+    private final Long teacherId;
+
+
+    //User entity -> Principal
+    public static UserPrincipal from(User user) {
+        List<String> roles = user.getRoles()
+                .stream()
+                .map(Role::getAuthority)
+                .toList();
+
+        //getId() on lazy proxies does not hit the database
+        Long studentId = user.getStudent_owner() != null ? user.getStudent_owner().getId() : null;
+        Long teacherId = user.getTeacher_owner() != null ? user.getTeacher_owner().getId() : null;
+
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                roles, studentId, teacherId);
+    }
+
+    //Verified token Claims -> Principal
+    @SuppressWarnings("unchecked")
+    public static UserPrincipal from(Claims claims) {
+        List<String> roles = claims.get(CLAIM_ROLES, List.class);
+
+        return new UserPrincipal(
+                claims.get(CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                null,
+                roles != null ? roles : List.of(),
+                claims.get(CLAIM_STUDENT_ID, Long.class),
+                claims.get(CLAIM_TEACHER_ID, Long.class));
+    }
+
+    //Tokens issued before the id claims were added can't be used stateless
+    public static boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null && claims.get(CLAIM_ROLES) != null;
+    }
+
+
+    //Principal -> Claims
+    public void writeClaims(Map<String, Object> claims) {
+        claims.put(CLAIM_USER_ID, id);
+
+        if (studentId != null) {
+            claims.put(CLAIM_STUDENT_ID, studentId);
+        }
+        if (teacherId != null) {
+            claims.put(CLAIM_TEACHER_ID, teacherId);
+        }
+    }
+
+
+    public boolean isStudent() {
+        return studentId != null;
+    }
+
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.graduation.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+//Shared by all mappers - Spring beans, and the build fails on any target property
+//that is neither mapped nor explicitly ignored
+@MapperConfig(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface MapperSettings {
+}
@@ -0,0 +1,29 @@
+package com.example.graduation.mapper;
+
+import com.example.graduation.dto.student.CreateStudentDTO;
+import com.example.graduation.dto.student.StudentDTO;
+import com.example.graduation.dto.student.UpdateStudentDTO;
+import com.example.graduation.entity.Student;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+//Student <-> DTOs - implementation generated at compile time (StudentMapperImpl)
+@Mapper(config = MapperSettings.class)
+public interface StudentMapper {
+
+    //ENTITY -> DTO
+    StudentDTO toStudentDTO(Student student);
+
+    CreateStudentDTO toCreateStudentDTO(Student student);
+
+    UpdateStudentDTO toUpdateStudentDTO(Student student);
+
+
+    //DTO -> ENTITY
+    Student toEntity(StudentDTO studentDTO);
+
+    Student toEntity(CreateStudentDTO studentDTO);
+
+    @Mapping(target = "studentNumber", ignore = true)
+    Student toEntity(UpdateStudentDTO studentDTO);
+}
@@ -0,0 +1,29 @@
+package com.example.graduation.mapper;
+
+import com.example.graduation.dto.teacher.CreateTeacherDTO;
+import com.example.graduation.dto.teacher.TeacherDTO;
+import com.example.graduation.dto.teacher.UpdateTeacherDTO;
+import com.example.graduation.entity.Teacher;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+//Teacher <-> DTOs - implementation generated at compile time (TeacherMapperImpl)
+@Mapper(config = MapperSettings.class)
+public interface TeacherMapper {
+
+    //ENTITY -> DTO
+    TeacherDTO toTeacherDTO(Teacher teacher);
+
+    CreateTeacherDTO toCreateTeacherDTO(Teacher teacher);
+
+    UpdateTeacherDTO toUpdateTeacherDTO(Teacher teacher);
+
+
+    //DTO -> ENTITY
+    Teacher toEntity(TeacherDTO teacherDTO);
+
+    Teacher toEntity(CreateTeacherDTO teacherDTO);
+
+    @Mapping(target = "teacherNumber", ignore = true)
+    Teacher toEntity(UpdateTeacherDTO teacherDTO);
+}
@@ -0,0 +1,33 @@
+package com.example.graduation.mapper;
+
+import com.example.graduation.dto.thesis.*;
+import com.example.graduation.entity.Thesis;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+//Thesis -> DTOs - implementation generated at compile time (ThesisMapperImpl)
+//Student columns are mapped explicitly, a null Student leaves them null
+//DTO -> Thesis stays in ThesisService, it has to look the Student up
+@Mapper(config = MapperSettings.class)
+public interface ThesisMapper {
+
+    @Mapping(target = "studentId", source = "student.id")
+    @Mapping(target = "studentNumber", source = "student.studentNumber")
+    SubmittedThesisDTO toSubmittedThesisDTO(Thesis thesis);
+
+    @Mapping(target = "studentId", source = "student.id")
+    @Mapping(target = "studentNumber", source = "student.studentNumber")
+    ApprovedThesisDTO toApprovedThesisDTO(Thesis thesis);
+
+    @Mapping(target = "studentId", source = "student.id")
+    @Mapping(target = "studentNumber", source = "student.studentNumber")
+    DefendedThesisDTO toDefendedThesisDTO(Thesis thesis);
+
+    StudentThesisDTO toStudentThesisDTO(Thesis thesis);
+
+    UpdateSubmittedThesisDTO toUpdateSubmittedThesisDTO(Thesis thesis);
+
+    UpdateDefendedThesisDTO toUpdateDefendedThesisDTO(Thesis thesis);
+
+    CreateDefendedThesisDTO toCreateDefendedThesisDTO(Thesis thesis);
+}
@@ -0,0 +1,41 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.entity.common.PooledIdGenerator;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+//Ids for rows written with plain JDBC - reserved from the same id_generator rows PooledIdGenerator uses
+//Own transaction, like the generator's, so the row lock is held only for the reservation
+@Repository
+@AllArgsConstructor
+public class IdBlockRepository {
+
+    private static final String SELECT = "SELECT " + PooledIdGenerator.VALUE_COLUMN
+            + " FROM " + PooledIdGenerator.TABLE
+            + " WHERE " + PooledIdGenerator.SEGMENT_COLUMN + " = ? FOR UPDATE";
+
+    private static final String UPDATE = "UPDATE " + PooledIdGenerator.TABLE
+            + " SET " + PooledIdGenerator.VALUE_COLUMN + " = ?"
+            + " WHERE " + PooledIdGenerator.SEGMENT_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    //First of count consecutive ids for the table - the caller owns [first, first + count)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String table, int count) {
+        List<Long> next = jdbcTemplate.queryForList(SELECT, Long.class, table);
+        if (next.isEmpty()) {
+            throw new IllegalStateException("No id_generator row for table " + table);
+        }
+
+        long first = next.get(0);
+        jdbcTemplate.update(UPDATE, first + count, table);
+        return first;
+    }
+}
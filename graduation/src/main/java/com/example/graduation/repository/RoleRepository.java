@@ -5,6 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
-    Role findByRoleName(String roleName);
-}
\ No newline at end of file
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleRepositoryCustom {
+}
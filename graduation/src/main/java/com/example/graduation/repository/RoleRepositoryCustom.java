@@ -0,0 +1,10 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.entity.Role;
+
+//Natural-id lookup - RoleRepositoryCustomImpl
+public interface RoleRepositoryCustom {
+
+    //null if there is no such role
+    Role findByRoleName(String roleName);
+}
@@ -0,0 +1,22 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+//Through Hibernate's natural-id API instead of a derived query - name -> id and id -> Role
+//both come from the second-level cache, a query only on a miss
+class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Role findByRoleName(String roleName) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Role.class).load(roleName);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StudentRepository
         extends JpaRepository<Student, Long>,
+        StudentRepositoryCustom,
         JpaSpecificationExecutor<Student> {
 
 
@@ -0,0 +1,25 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.student.StudentDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+//List queries that select DTOs directly - StudentRepositoryCustomImpl
+public interface StudentRepositoryCustom {
+
+    //EXACT and CACHED return a Page, NONE a Slice without a total - totalKey is ListTotals.key(...)
+    Slice<StudentDTO> findStudentDTOs(Specification<Student> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+    CursorPage<StudentDTO> findStudentDTOs(Specification<Student> spec, KeysetCursor position, int size);
+
+    //Every matching row - exports, consume inside a transaction
+    Stream<StudentDTO> streamStudentDTOs(Specification<Student> spec, Sort sort);
+}
@@ -0,0 +1,52 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.student.StudentDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    private final DtoProjectionQuery projectionQuery;
+
+
+    @Override
+    public Slice<StudentDTO> findStudentDTOs(Specification<Student> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Student.class, StudentDTO.class, spec, pageable, countMode, totalKey,
+                StudentRepositoryCustomImpl::studentColumns);
+    }
+
+    @Override
+    public CursorPage<StudentDTO> findStudentDTOs(Specification<Student> spec, KeysetCursor position, int size) {
+        return projectionQuery.findKeyset(Student.class, StudentDTO.class, spec, position, size, StudentRepositoryCustomImpl::studentColumns);
+    }
+
+
+    @Override
+    public Stream<StudentDTO> streamStudentDTOs(Specification<Student> spec, Sort sort) {
+        return projectionQuery.stream(Student.class, StudentDTO.class, spec, sort, StudentRepositoryCustomImpl::studentColumns);
+    }
+
+
+    //StudentDTO(id, firstName, lastName, studentNumber)
+    private static List<Selection<?>> studentColumns(Root<Student> root) {
+        return List.of(
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("studentNumber"));
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TeacherRepository
         extends JpaRepository<Teacher, Long>,
+        TeacherRepositoryCustom,
         JpaSpecificationExecutor<Teacher> {
 
 
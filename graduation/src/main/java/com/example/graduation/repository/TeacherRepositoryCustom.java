@@ -0,0 +1,25 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.teacher.TeacherDTO;
+import com.example.graduation.entity.Teacher;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+//List queries that select DTOs directly - TeacherRepositoryCustomImpl
+public interface TeacherRepositoryCustom {
+
+    //EXACT and CACHED return a Page, NONE a Slice without a total - totalKey is ListTotals.key(...)
+    Slice<TeacherDTO> findTeacherDTOs(Specification<Teacher> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+    CursorPage<TeacherDTO> findTeacherDTOs(Specification<Teacher> spec, KeysetCursor position, int size);
+
+    //Every matching row - exports, consume inside a transaction
+    Stream<TeacherDTO> streamTeacherDTOs(Specification<Teacher> spec, Sort sort);
+}
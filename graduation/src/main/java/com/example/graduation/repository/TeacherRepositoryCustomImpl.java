@@ -0,0 +1,52 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.teacher.TeacherDTO;
+import com.example.graduation.entity.Teacher;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+class TeacherRepositoryCustomImpl implements TeacherRepositoryCustom {
+
+    private final DtoProjectionQuery projectionQuery;
+
+
+    @Override
+    public Slice<TeacherDTO> findTeacherDTOs(Specification<Teacher> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Teacher.class, TeacherDTO.class, spec, pageable, countMode, totalKey,
+                TeacherRepositoryCustomImpl::teacherColumns);
+    }
+
+    @Override
+    public CursorPage<TeacherDTO> findTeacherDTOs(Specification<Teacher> spec, KeysetCursor position, int size) {
+        return projectionQuery.findKeyset(Teacher.class, TeacherDTO.class, spec, position, size, TeacherRepositoryCustomImpl::teacherColumns);
+    }
+
+
+    @Override
+    public Stream<TeacherDTO> streamTeacherDTOs(Specification<Teacher> spec, Sort sort) {
+        return projectionQuery.stream(Teacher.class, TeacherDTO.class, spec, sort, TeacherRepositoryCustomImpl::teacherColumns);
+    }
+
+
+    //TeacherDTO(id, firstName, lastName, teacherNumber)
+    private static List<Selection<?>> teacherColumns(Root<Teacher> root) {
+        return List.of(
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("teacherNumber"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.entity.ThesisCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ThesisCounterRepository extends JpaRepository<ThesisCounter, String> {
+
+    //Relative update - concurrent writers never overwrite each other's deltas
+    @Modifying
+    @Query("UPDATE ThesisCounter c SET c.total = c.total + :delta WHERE c.name = :name")
+    int add(String name, long delta);
+
+    //Reconcile - holds off counter updates until the recount commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ThesisCounter c")
+    List<ThesisCounter> findAllForUpdate();
+}
@@ -1,18 +1,92 @@
 package com.example.graduation.repository;
 
 import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.projection.ThesisState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ThesisRepository
         extends JpaRepository<Thesis, Long>,
+        ThesisRepositoryCustom,
         JpaSpecificationExecutor<Thesis> {
 
 
     //To load Thesis on Student View if they have one
     Optional<Thesis> findByStudentId(Long studentId);
+
+
+    //Full recount for ThesisCounters.reconcile - [value, count] rows
+    @Query("SELECT t.status, COUNT(t) FROM Thesis t WHERE t.status IS NOT NULL GROUP BY t.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT t.grade, COUNT(t) FROM Thesis t WHERE t.grade IS NOT NULL GROUP BY t.grade")
+    List<Object[]> countByGrade();
+
+
+    //Bulk transitions - [id, status] rows, locked until the transaction ends
+    //so the conditional UPDATE below changes exactly the rows read as SUBMITTED
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.status FROM Thesis t WHERE t.id IN :ids ORDER BY t.id")
+    List<Object[]> findStatusesForUpdate(Collection<Long> ids);
+
+    //Set-based status change - only rows still in the from status
+    //Clears the persistence context, so findWritten reads the new rows instead of stale entities
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :to, t.version = t.version + 1 WHERE t.id IN :ids AND t.status = :from")
+    int updateStatus(Collection<Long> ids, ThesisStatus from, ThesisStatus to);
+
+    //Theses just written by an UPDATE above, with their Student - for the entity events the UPDATE skipped
+    //Read-only - handed to the listeners, never modified
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Thesis t LEFT JOIN FETCH t.student WHERE t.id IN :ids")
+    List<Thesis> findWritten(Collection<Long> ids);
+
+    //Bulk defense - [id, status, grade, studentId] rows, locked until the transaction ends
+    //student id is the foreign key column, the student row is neither joined nor locked
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.status, t.grade, t.student.id FROM Thesis t WHERE t.id IN :ids ORDER BY t.id")
+    List<Object[]> findGradesForUpdate(Collection<Long> ids);
+
+
+    //Single thesis writes - compare-and-set UPDATEs, 0 if the thesis is gone or was changed in between
+    //The persistence context is cleared, so findWritten reads the new row
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :to, t.version = t.version + 1 WHERE t.id = :id AND t.status = :from")
+    int transition(Long id, ThesisStatus from, ThesisStatus to);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.status = :to, t.grade = :grade, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.status = :from")
+    int transition(Long id, ThesisStatus from, ThesisStatus to, Grade grade);
+
+    //version null - no check against an edit form, the status still has to match
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.title = :title, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.status = :status AND (:version IS NULL OR t.version = :version)")
+    int updateTitle(Long id, Long version, ThesisStatus status, String title);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Thesis t SET t.grade = :grade, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.version = :version AND t.status = :status")
+    int updateGrade(Long id, Long version, ThesisStatus status, Grade grade);
+
+    //Why a write matched nothing - empty if there is no such thesis
+    @Query("SELECT new com.example.graduation.repository.projection.ThesisState(t.status, t.grade, t.version) " +
+            "FROM Thesis t WHERE t.id = :id")
+    Optional<ThesisState> findStateById(Long id);
 }
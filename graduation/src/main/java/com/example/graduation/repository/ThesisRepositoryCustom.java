@@ -0,0 +1,48 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.thesis.ApprovedThesisDTO;
+import com.example.graduation.dto.thesis.DefendedThesisDTO;
+import com.example.graduation.dto.thesis.SubmittedThesisDTO;
+import com.example.graduation.dto.thesis.ThesisSearchDTO;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+//List queries that select DTOs directly - ThesisRepositoryCustomImpl
+public interface ThesisRepositoryCustom {
+
+    //EXACT and CACHED return a Page, NONE a Slice without a total - totalKey is ListTotals.key(...)
+    Slice<SubmittedThesisDTO> findSubmittedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+    Slice<ApprovedThesisDTO> findApprovedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+    Slice<DefendedThesisDTO> findDefendedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+
+    //Title search, relevance order comes from the spec - ThesisSpecification.titleMatches
+    Slice<ThesisSearchDTO> searchThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey);
+
+
+    //Keyset (cursor) variants of the lists above
+    CursorPage<SubmittedThesisDTO> findSubmittedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size);
+
+    CursorPage<ApprovedThesisDTO> findApprovedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size);
+
+    CursorPage<DefendedThesisDTO> findDefendedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size);
+
+
+    //Every matching thesis, any status - exports, consume inside a transaction
+    Stream<ThesisSearchDTO> streamThesisDTOs(Specification<Thesis> spec, Sort sort);
+
+
+    //Ids of the matching theses in id order, at most limit - bulk actions by filter
+    List<Long> findThesisIds(Specification<Thesis> spec, int limit);
+}
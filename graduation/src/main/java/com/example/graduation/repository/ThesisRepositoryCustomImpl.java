@@ -0,0 +1,132 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.dto.thesis.ApprovedThesisDTO;
+import com.example.graduation.dto.thesis.DefendedThesisDTO;
+import com.example.graduation.dto.thesis.SubmittedThesisDTO;
+import com.example.graduation.dto.thesis.ThesisSearchDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.KeysetCursor;
+import com.example.graduation.repository.specification.ThesisSpecification;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+class ThesisRepositoryCustomImpl implements ThesisRepositoryCustom {
+
+    private final DtoProjectionQuery projectionQuery;
+
+
+    @Override
+    public Slice<SubmittedThesisDTO> findSubmittedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Thesis.class, SubmittedThesisDTO.class, spec, pageable, countMode, totalKey,
+                ThesisRepositoryCustomImpl::submittedColumns);
+    }
+
+    @Override
+    public Slice<ApprovedThesisDTO> findApprovedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Thesis.class, ApprovedThesisDTO.class, spec, pageable, countMode, totalKey,
+                ThesisRepositoryCustomImpl::approvedColumns);
+    }
+
+    @Override
+    public Slice<DefendedThesisDTO> findDefendedThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Thesis.class, DefendedThesisDTO.class, spec, pageable, countMode, totalKey,
+                ThesisRepositoryCustomImpl::defendedColumns);
+    }
+
+
+    @Override
+    public Slice<ThesisSearchDTO> searchThesisDTOs(Specification<Thesis> spec, Pageable pageable, CountMode countMode, String totalKey) {
+        return projectionQuery.findSlice(Thesis.class, ThesisSearchDTO.class, spec, pageable, countMode, totalKey,
+                ThesisRepositoryCustomImpl::searchColumns);
+    }
+
+
+    @Override
+    public CursorPage<SubmittedThesisDTO> findSubmittedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size) {
+        return projectionQuery.findKeyset(Thesis.class, SubmittedThesisDTO.class, spec, position, size,
+                ThesisRepositoryCustomImpl::submittedColumns);
+    }
+
+    @Override
+    public CursorPage<ApprovedThesisDTO> findApprovedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size) {
+        return projectionQuery.findKeyset(Thesis.class, ApprovedThesisDTO.class, spec, position, size,
+                ThesisRepositoryCustomImpl::approvedColumns);
+    }
+
+    @Override
+    public CursorPage<DefendedThesisDTO> findDefendedThesisDTOs(Specification<Thesis> spec, KeysetCursor position, int size) {
+        return projectionQuery.findKeyset(Thesis.class, DefendedThesisDTO.class, spec, position, size,
+                ThesisRepositoryCustomImpl::defendedColumns);
+    }
+
+
+    @Override
+    public Stream<ThesisSearchDTO> streamThesisDTOs(Specification<Thesis> spec, Sort sort) {
+        return projectionQuery.stream(Thesis.class, ThesisSearchDTO.class, spec, sort,
+                ThesisRepositoryCustomImpl::searchColumns);
+    }
+
+    @Override
+    public List<Long> findThesisIds(Specification<Thesis> spec, int limit) {
+        return projectionQuery.findIds(Thesis.class, spec, limit);
+    }
+
+
+    //SubmittedThesisDTO(id, title, status, studentId, studentNumber)
+    private static List<Selection<?>> submittedColumns(Root<Thesis> root) {
+        Join<Thesis, Student> student = ThesisSpecification.studentJoin(root);
+        return List.of(
+                root.get("id"),
+                root.get("title"),
+                root.get("status"),
+                student.get("id"),
+                student.get("studentNumber"));
+    }
+
+    //ApprovedThesisDTO(id, title, studentId, studentNumber)
+    private static List<Selection<?>> approvedColumns(Root<Thesis> root) {
+        Join<Thesis, Student> student = ThesisSpecification.studentJoin(root);
+        return List.of(
+                root.get("id"),
+                root.get("title"),
+                student.get("id"),
+                student.get("studentNumber"));
+    }
+
+    //DefendedThesisDTO(id, title, studentId, studentNumber, grade)
+    private static List<Selection<?>> defendedColumns(Root<Thesis> root) {
+        Join<Thesis, Student> student = ThesisSpecification.studentJoin(root);
+        return List.of(
+                root.get("id"),
+                root.get("title"),
+                student.get("id"),
+                student.get("studentNumber"),
+                root.get("grade"));
+    }
+
+    //ThesisSearchDTO(id, title, status, studentId, studentNumber, grade)
+    private static List<Selection<?>> searchColumns(Root<Thesis> root) {
+        Join<Thesis, Student> student = ThesisSpecification.studentJoin(root);
+        return List.of(
+                root.get("id"),
+                root.get("title"),
+                root.get("status"),
+                student.get("id"),
+                student.get("studentNumber"),
+                root.get("grade"));
+    }
+}
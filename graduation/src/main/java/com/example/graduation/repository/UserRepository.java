@@ -2,11 +2,14 @@ package com.example.graduation.repository;
 
 import com.example.graduation.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    @Query("SELECT u.username FROM User u")
+    List<String> findAllUsernames();
 }
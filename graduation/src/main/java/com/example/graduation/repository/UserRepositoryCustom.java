@@ -0,0 +1,11 @@
+package com.example.graduation.repository;
+
+import com.example.graduation.entity.User;
+
+import java.util.Optional;
+
+//Natural-id lookup - UserRepositoryCustomImpl
+public interface UserRepositoryCustom {
+
+    Optional<User> findByUsername(String username);
+}
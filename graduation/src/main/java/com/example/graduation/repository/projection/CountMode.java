@@ -0,0 +1,14 @@
+package com.example.graduation.repository.projection;
+
+//How a paged list gets its total - ?countMode= on the list endpoints
+public enum CountMode {
+
+    //SELECT COUNT(*) on every page - totalElements / totalPages are exact
+    EXACT,
+
+    //No count at all - a Slice with hasNext only
+    NONE,
+
+    //COUNT(*) once per filter, then served from the listTotals cache - approximate totals
+    CACHED,
+}
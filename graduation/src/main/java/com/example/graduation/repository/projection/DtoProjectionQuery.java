@@ -0,0 +1,269 @@
+package com.example.graduation.repository.projection;
+
+import com.example.graduation.dto.common.CursorPage;
+import com.example.graduation.exception.InvalidPageRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+//Page of DTOs straight from a Specification - SELECT new Dto(col, col, ...)
+//Only the listed columns are read, nothing enters the persistence context
+@Component
+@RequiredArgsConstructor
+public class DtoProjectionQuery {
+
+    //Largest page a cursor list returns - offset lists keep taking any pageSize they took before
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    //Cursor values travel as strings - converted back to the column type (Long, String, enum)
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ListTotals listTotals;
+
+    //Fetch size of the streamed query - rows per round trip, Integer.MIN_VALUE for row by row on MySQL
+    @Value("${export.fetch-size:500}")
+    private int fetchSize;
+
+
+    //columns - constructor arguments of dtoType, in order
+    //They are built before the Specification, so a spec can reuse joins the columns made
+    public <T, D> Page<D> findPage(Class<T> entityType, Class<D> dtoType,
+                                   Specification<T> spec, Pageable pageable,
+                                   Function<Root<T>, List<Selection<?>>> columns) {
+
+        List<D> content = selectQuery(entityType, dtoType, spec, pageable, pageable.getPageSize(), columns)
+                .getResultList();
+
+        //Count only runs when the page alone can't tell the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityType, spec));
+    }
+
+    //Same page, total decided by countMode
+    //totalKey - ListTotals.key(...) of the list and its filters, only used by CACHED
+    public <T, D> Slice<D> findSlice(Class<T> entityType, Class<D> dtoType,
+                                     Specification<T> spec, Pageable pageable,
+                                     CountMode countMode, String totalKey,
+                                     Function<Root<T>, List<Selection<?>>> columns) {
+
+        if (pageable.isPaged()) {
+            checkPageSize(pageable.getPageSize());
+        }
+
+        switch (countMode) {
+            case NONE -> {
+                //One extra row tells if there is a next page - none past Integer.MAX_VALUE, size + 1 would overflow
+                int limit = pageable.getPageSize() == Integer.MAX_VALUE ? Integer.MAX_VALUE : pageable.getPageSize() + 1;
+                List<D> rows = selectQuery(entityType, dtoType, spec, pageable, limit, columns)
+                        .getResultList();
+
+                boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+                return new SliceImpl<>(hasNext ? List.copyOf(rows.subList(0, pageable.getPageSize())) : rows,
+                        pageable, hasNext);
+            }
+            case CACHED -> {
+                List<D> content = selectQuery(entityType, dtoType, spec, pageable, pageable.getPageSize(), columns)
+                        .getResultList();
+
+                //PageImpl still corrects the total on the last page if the cached one is off
+                long total = listTotals.get(totalKey, () -> count(entityType, spec));
+                return new PageImpl<>(content, pageable, total);
+            }
+            default -> {
+                return findPage(entityType, dtoType, spec, pageable, columns);
+            }
+        }
+    }
+
+
+    //Keyset (seek) page - WHERE (key, id) > (lastKey, lastId) ORDER BY key, id LIMIT size + 1
+    //No OFFSET, so page 1000 costs the same as page 1, and no count query
+    //The sort field must also be a property of dtoType - the next cursor is read from the last row
+    public <T, D> CursorPage<D> findKeyset(Class<T> entityType, Class<D> dtoType,
+                                           Specification<T> spec, KeysetCursor position, int size,
+                                           Function<Root<T>, List<Selection<?>>> columns) {
+
+        checkCursorPageSize(size);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<T> root = query.from(entityType);
+
+        query.select(cb.construct(dtoType, columns.apply(root).toArray(Selection[]::new)));
+
+        Path<Comparable<Object>> key = root.get(position.getSortField());
+        Path<Long> id = root.get("id");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (!position.isFirstPage()) {
+            Predicate seek = seekPredicate(cb, key, id, position);
+            predicate = predicate == null ? seek : cb.and(predicate, seek);
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        //id last - unique, so the order (and the cursor) is total
+        if (position.getSortField().equals("id")) {
+            query.orderBy(position.isAscending() ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(position.isAscending() ? cb.asc(key) : cb.desc(key),
+                    position.isAscending() ? cb.asc(id) : cb.desc(id));
+        }
+
+        //One extra row tells if there is a next page
+        List<D> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > size;
+        if (!hasNext) {
+            return new CursorPage<>(rows, null, false);
+        }
+
+        List<D> content = rows.subList(0, size);
+        BeanWrapperImpl last = new BeanWrapperImpl(content.get(size - 1));
+        String nextCursor = position.after(
+                CONVERSION.convert(last.getPropertyValue(position.getSortField()), String.class),
+                (Long) last.getPropertyValue("id")).encode();
+
+        return new CursorPage<>(List.copyOf(content), nextCursor, true);
+    }
+
+
+    //Every matching row, read forward-only in fetchSize batches - for exports
+    //Must be consumed (and closed) inside a transaction, before the connection runs another statement
+    public <T, D> Stream<D> stream(Class<T> entityType, Class<D> dtoType,
+                                   Specification<T> spec, Sort sort,
+                                   Function<Root<T>, List<Selection<?>>> columns) {
+
+        return selectQuery(entityType, dtoType, spec, Pageable.unpaged(sort), 0, columns)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+
+    //Ids of the matching rows in id order, at most limit - for bulk actions by filter
+    public <T> List<Long> findIds(Class<T> entityType, Specification<T> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Path<Long> id = root.get("id");
+        query.select(id).orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+
+    //Services check before building a PageRequest - PageRequest.of rejects size < 1 with a 500
+    public static void checkPageSize(int size) {
+        if (size < 1) {
+            throw new InvalidPageRequestException("pageSize must be at least 1");
+        }
+    }
+
+    //Cursor lists also have an upper bound - keeps size + 1 in range and one request from reading a whole table
+    public static void checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidPageRequestException("pageSize must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+    }
+
+
+    //Rows strictly after the cursor in (key, id) order
+    @SuppressWarnings("unchecked")
+    private Predicate seekPredicate(CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id,
+                                    KeysetCursor position) {
+        boolean asc = position.isAscending();
+        Long lastId = position.getLastId();
+
+        Predicate idAfter = asc ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+        if (position.getSortField().equals("id")) {
+            return idAfter;
+        }
+
+        Comparable<Object> lastValue = (Comparable<Object>) CONVERSION.convert(position.getLastValue(), key.getJavaType());
+
+        Predicate keyAfter = asc ? cb.greaterThan(key, lastValue) : cb.lessThan(key, lastValue);
+        return cb.or(keyAfter, cb.and(cb.equal(key, lastValue), idAfter));
+    }
+
+
+    private <T, D> TypedQuery<D> selectQuery(Class<T> entityType, Class<D> dtoType,
+                                             Specification<T> spec, Pageable pageable, int maxResults,
+                                             Function<Root<T>, List<Selection<?>>> columns) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<D> query = cb.createQuery(dtoType);
+        Root<T> root = query.from(entityType);
+
+        query.select(cb.construct(dtoType, columns.apply(root).toArray(Selection[]::new)));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<D> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery;
+    }
+
+    private <T> long count(Class<T> entityType, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.graduation.repository.projection;
+
+import com.example.graduation.exception.InvalidCursorException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+//Position in a keyset (seek) list - sort field, direction and the last row's sort key + id
+//The id is the tiebreaker, so rows with the same sort key are neither skipped nor repeated
+//Sent to clients as an opaque base64url token
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final String sortField;
+    private final boolean ascending;
+
+    //Last row of the previous page - both null on the first page
+    private final Long lastId;
+    private final String lastValue;
+
+
+    //Empty cursor - first page, sorted by the request parameters
+    //Otherwise the sort comes from the cursor, so it can't change halfway through a list
+    public static KeysetCursor resolve(String cursor, String sortField, String sortDir, Set<String> sortFields) {
+        if (cursor == null || cursor.isBlank()) {
+            return new KeysetCursor(checkSortField(sortField, sortFields), !"desc".equals(sortDir), null, null);
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length != 4) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+
+        try {
+            return new KeysetCursor(checkSortField(parts[0], sortFields), "asc".equals(parts[1]),
+                    Long.valueOf(parts[2]), parts[3]);
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    //Cursor for the page after the row with this sort key and id
+    public KeysetCursor after(String value, Long id) {
+        return new KeysetCursor(sortField, ascending, id, value);
+    }
+
+    public String encode() {
+        String raw = sortField + SEPARATOR + (ascending ? "asc" : "desc") + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    //Only non-null columns - a NULL sort key can't be compared with > / <
+    private static String checkSortField(String sortField, Set<String> sortFields) {
+        if (!sortFields.contains(sortField)) {
+            throw new InvalidCursorException("Unsupported sort field for cursor paging: " + sortField
+                    + " (supported: " + String.join(", ", sortFields) + ")");
+        }
+        return sortField;
+    }
+}
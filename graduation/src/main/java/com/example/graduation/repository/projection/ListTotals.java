@@ -0,0 +1,60 @@
+package com.example.graduation.repository.projection;
+
+import com.example.graduation.config.CacheConfig;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Teacher;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+//List totals for CountMode.CACHED - one COUNT(*) per list + filter values, shared by all its pages
+//Cleared when a listed entity is written, otherwise expires - cache.list-totals.spec
+@Component
+@AllArgsConstructor
+public class ListTotals {
+
+    private final CacheManager cacheManager;
+
+
+    //e.g. key(Thesis.class, SUBMITTED, "ai", null) -> "Thesis|SUBMITTED|ai|"
+    //Null and blank filters are the same list - the specifications skip both
+    public static String key(Class<?> entityType, Object... filters) {
+        return entityType.getSimpleName() + "|" + Arrays.stream(filters)
+                .map(filter -> Objects.toString(filter, "").trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("|"));
+    }
+
+    public long get(String key, LongSupplier count) {
+        Long total = totals().get(key, count::getAsLong);
+        return total == null ? count.getAsLong() : total;
+    }
+
+
+    //Writes that bypass the entity events (bulk JDBC imports) clear it themselves
+    public void clear() {
+        totals().clear();
+    }
+
+    //Any write can move any total - clearing is cheaper than working out which
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Student.class) || event.isAbout(Teacher.class) || event.isAbout(Thesis.class)) {
+            totals().clear();
+        }
+    }
+
+
+    private Cache totals() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.LIST_TOTALS));
+    }
+}
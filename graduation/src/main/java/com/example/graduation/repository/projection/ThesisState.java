@@ -0,0 +1,8 @@
+package com.example.graduation.repository.projection;
+
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+
+//Columns a compare-and-set write checks - ThesisRepository.findStateById
+public record ThesisState(ThesisStatus status, Grade grade, Long version) {
+}
@@ -0,0 +1,27 @@
+package com.example.graduation.repository.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+//HQL / Criteria function fulltext_score(column, booleanQuery) - relevance, 0 when the row doesn't match
+//MySQL - MATCH ... AGAINST on the FULLTEXT index, others - FT_SCORE alias (H2FullText)
+//Registered in META-INF/services/org.hibernate.boot.model.FunctionContributor
+//Boolean mode only - natural language mode has no required terms or prefix match, and drops
+//words found in over half the rows, so the title search could not be expressed with it
+public class FullTextFunctions implements FunctionContributor {
+
+    public static final String FULLTEXT_SCORE = "fulltext_score";
+
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof MySQLDialect
+                ? "match(?1) against(?2 in boolean mode)"
+                : "ft_score(?1, ?2)";
+
+        functionContributions.getFunctionRegistry().registerPattern(FULLTEXT_SCORE, pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.graduation.repository.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+//User search text -> MySQL boolean-mode query
+//"Machine learn" -> "+machine* +learn*" - every word required, prefix match
+//The only mode fulltext_score supports (FullTextFunctions)
+public final class FullTextQuery {
+
+    //innodb_ft_min_token_size - shorter words are not in the index
+    public static final int MIN_TERM_LENGTH = 3;
+
+    private FullTextQuery() {
+    }
+
+
+    //Boolean operators in the input are dropped, the user can't change the query shape
+    //Output is only letters, digits, '+', '*' and spaces - Hibernate renders it inline
+    //null if no word is long enough to be searched
+    public static String booleanMode(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
+
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.graduation.repository.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+//H2 stand-in for MATCH(title) AGAINST(query IN BOOLEAN MODE) - registered as FT_SCORE by db/migration/h2/V3__query_indexes.sql
+//Same semantics for the queries FullTextQuery builds: every +term* must prefix a word, score = matching words
+public final class H2FullText {
+
+    private H2FullText() {
+    }
+
+
+    public static double score(String text, String booleanQuery) {
+        if (text == null || booleanQuery == null) {
+            return 0;
+        }
+
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        double score = 0;
+
+        for (String term : booleanQuery.split(" ")) {
+            String prefix = term.replace("+", "").replace("*", "");
+            long matches = Arrays.stream(words).filter(word -> word.startsWith(prefix)).count();
+
+            if (matches == 0) {
+                return 0;
+            }
+            score += matches;
+        }
+
+        return score;
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.graduation.repository.specification;
 
+import com.example.graduation.entity.Student;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.enums.Grade;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.search.FullTextFunctions;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
 public class ThesisSpecification {
@@ -14,6 +20,24 @@ public class ThesisSpecification {
     }
 
 
+    //Full-text TITLE search - booleanQuery from FullTextQuery.booleanMode(...)
+    //Uses the FULLTEXT index instead of scanning every title, orders by relevance (best first)
+    //The list query must be unsorted, so this order is the one that applies
+    public static Specification<Thesis> titleMatches(String booleanQuery) {
+        return (root, query, cb) -> {
+            Expression<Double> score = cb.function(FullTextFunctions.FULLTEXT_SCORE, Double.class,
+                    root.get("title"), cb.literal(booleanQuery));
+
+            //Count queries have nothing to order
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(cb.desc(score), cb.asc(root.get("id")));
+            }
+
+            return cb.gt(score, 0.0);
+        };
+    }
+
+
     //STATUS - Submitted, Approved, Defended, Rejected
     public static Specification<Thesis> statusEquals(ThesisStatus status) {
         return (root, query, cb) -> {
@@ -32,11 +56,23 @@ public class ThesisSpecification {
             if (studentNumber == null || studentNumber.isEmpty()) {
                 return cb.conjunction();
             }
-            return cb.equal(root.join("student").get("studentNumber"), studentNumber);
+            return cb.equal(studentJoin(root).get("studentNumber"), studentNumber);
         };
     }
 
 
+    //Reuse the Student join if the query already has one (DTO projections select from it)
+    //Left join - theses without a Student still show up in the lists
+    @SuppressWarnings("unchecked")
+    public static Join<Thesis, Student> studentJoin(Root<Thesis> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("student"))
+                .map(join -> (Join<Thesis, Student>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("student", JoinType.LEFT));
+    }
+
+
 
     //Thesis GRADE
     public static Specification<Thesis> gradeEquals(Grade grade) {
@@ -0,0 +1,106 @@
+package com.example.graduation.service;
+
+import com.example.graduation.exception.InvalidRefreshTokenException;
+import com.example.graduation.jwt.JwtUtil;
+import com.example.graduation.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+//Access + refresh token pairs - issue, rotate and revoke
+@Service
+@AllArgsConstructor
+public class AuthTokenService {
+
+    private final JwtUtil jwtUtil;
+
+    private final CustomUserDetailsService userDetailsService;
+
+    private final TokenRevocationService revocationService;
+
+    private final VerifiedTokenCache tokenCache;
+
+
+    public TokenPair issue(Authentication authentication) {
+        return new TokenPair(
+                jwtUtil.generateToken(authentication),
+                jwtUtil.generateRefreshToken(authentication.getName()));
+    }
+
+
+    //Rotation - the used refresh token is revoked, so a stolen copy only works once
+    //The revocation insert is the single-use check - isRevoked can miss a concurrent
+    //or other-instance refresh, the unique jti can't
+    public TokenPair refresh(String refreshToken) {
+        Claims claims = verifyRefreshToken(refreshToken);
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (!revocationService.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        return issue(new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()));
+    }
+
+
+    //Both tokens are optional - revoke whatever is still valid
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            revokeQuietly(accessToken);
+            tokenCache.invalidate(accessToken);
+        }
+        if (refreshToken != null) {
+            revokeQuietly(refreshToken);
+        }
+    }
+
+
+    private Claims verifyRefreshToken(String refreshToken) {
+        if (refreshToken == null) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        if (!jwtUtil.isRefreshToken(claims) || revocationService.isRevoked(claims.getId())) {
+            throw new InvalidRefreshTokenException();
+        }
+        return claims;
+    }
+
+    //Expired or forged tokens need no revocation
+    private void revokeQuietly(String token) {
+        try {
+            Claims claims = jwtUtil.extractAllClaims(token);
+            revocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            //Nothing to revoke
+        }
+    }
+
+
+    @Getter
+    @AllArgsConstructor
+    public static class TokenPair {
+        private final String accessToken;
+        private final String refreshToken;
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.graduation.service;
+
+import com.example.graduation.dto.thesis.*;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import com.example.graduation.exception.InvalidBulkRequestException;
+import com.example.graduation.exception.InvalidGradeSheetException;
+import com.example.graduation.importer.CsvRecordReader;
+import com.example.graduation.repository.ThesisRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+//Thesis actions on many rows at once - set-based SQL instead of a findById + save per thesis
+//Ids go in chunks of thesis.bulk.chunk-size, so no statement gets an unbounded IN list
+//Chunks are taken in id order - two requests with overlapping ids lock rows in the same order and can't deadlock
+//The UPDATEs bypass the entity listener - counters are updated and the entity events published here
+@Service
+public class BulkThesisService {
+
+    //Where a submitted thesis can go
+    private static final Set<ThesisStatus> SUBMITTED_TARGETS = EnumSet.of(ThesisStatus.APPROVED, ThesisStatus.REJECTED);
+
+    //Still APPROVED is checked again by the UPDATE itself
+    private static final String DEFEND_SQL =
+            "UPDATE thesis SET status = 'DEFENDED', grade = ?, version = version + 1 WHERE id = ? AND status = 'APPROVED'";
+
+    private final ThesisRepository thesisRepository;
+    private final ThesisCounters thesisCounters;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int chunkSize;
+    private final int maxIds;
+
+
+    public BulkThesisService(ThesisRepository thesisRepository,
+                             ThesisCounters thesisCounters,
+                             JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${thesis.bulk.chunk-size:500}") int chunkSize,
+                             @Value("${thesis.bulk.max-ids:10000}") int maxIds) {
+
+        this.thesisRepository = thesisRepository;
+        this.thesisCounters = thesisCounters;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+
+    //Submitted -> Approved / Rejected for a list of ids or every submitted thesis matching a filter
+    //Per chunk: the rows are locked and read, then one UPDATE ... WHERE id IN (...) AND status = SUBMITTED
+    //All chunks commit together; ids that are gone or no longer submitted are reported, not failed
+    @Transactional
+    public BulkTransitionResultDTO transitionSubmittedTheses(BulkTransitionDTO request) {
+        ThesisStatus target = request.getTargetStatus();
+        if (!SUBMITTED_TARGETS.contains(target)) {
+            throw new InvalidBulkRequestException("Submitted theses can only be APPROVED or REJECTED, not " + target);
+        }
+
+        List<Long> ids = resolveIds(request);
+        List<Long> lockOrder = new ArrayList<>(ids);
+        Collections.sort(lockOrder);
+
+        Map<Long, ThesisTransitionDTO> outcomes = new HashMap<>();
+        int updated = 0;
+
+        for (int from = 0; from < lockOrder.size(); from += chunkSize) {
+            List<Long> chunk = lockOrder.subList(from, Math.min(from + chunkSize, lockOrder.size()));
+
+            Map<Long, ThesisStatus> current = new HashMap<>();
+            for (Object[] row : thesisRepository.findStatusesForUpdate(chunk)) {
+                current.put((Long) row[0], (ThesisStatus) row[1]);
+            }
+
+            int changed = thesisRepository.updateStatus(chunk, ThesisStatus.SUBMITTED, target);
+            updated += changed;
+
+            List<Long> changedIds = new ArrayList<>(changed);
+            for (Long id : chunk) {
+                ThesisStatus status = current.get(id);
+                if (!current.containsKey(id)) {
+                    outcomes.put(id, new ThesisTransitionDTO(id, TransitionOutcome.NOT_FOUND, null));
+                } else if (status == ThesisStatus.SUBMITTED) {
+                    outcomes.put(id, new ThesisTransitionDTO(id, TransitionOutcome.UPDATED, target));
+                    changedIds.add(id);
+                } else {
+                    outcomes.put(id, new ThesisTransitionDTO(id, TransitionOutcome.WRONG_STATUS, status));
+                }
+            }
+
+            publishUpdated(changedIds);
+        }
+
+        thesisCounters.transitioned(ThesisStatus.SUBMITTED, target, updated);
+
+        //Outcomes in request order
+        return new BulkTransitionResultDTO(target, updated, ids.stream().map(outcomes::get).toList());
+    }
+
+
+    //Approved -> Defended with a grade for a whole defense session - [{id, grade}, ...]
+    @Transactional
+    public BulkTransitionResultDTO defendTheses(List<GradeEntryDTO> entries) {
+        if (entries == null) {
+            throw new InvalidBulkRequestException("Send at least one grade");
+        }
+
+        List<SheetRow> rows = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            GradeEntryDTO entry = entries.get(i);
+            rows.add(entry == null
+                    ? new SheetRow(i + 1, null, null)
+                    : new SheetRow(i + 1, entry.getId(), entry.getGrade()));
+        }
+
+        return defend(rows, new ArrayList<>());
+    }
+
+    //Same as defendTheses, from CSV with an id,grade header - rows are reported by their line
+    @Transactional
+    public BulkTransitionResultDTO defendThesesFromCsv(String csv) {
+        List<SheetRow> rows = new ArrayList<>();
+        List<GradeEntryErrorDTO> errors = new ArrayList<>();
+
+        try {
+            CsvRecordReader records = new CsvRecordReader(new StringReader(csv == null ? "" : csv));
+
+            List<String> header = records.next();
+            if (header == null) {
+                throw new InvalidBulkRequestException("Send at least one grade");
+            }
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            int idColumn = names.indexOf("id");
+            int gradeColumn = names.indexOf("grade");
+            if (idColumn < 0 || gradeColumn < 0) {
+                throw new InvalidBulkRequestException("CSV header must have the columns id and grade");
+            }
+
+            List<String> record;
+            while ((record = records.next()) != null) {
+                long line = records.getRecordLine();
+                String id = idColumn < record.size() ? record.get(idColumn).trim() : "";
+                String grade = gradeColumn < record.size() ? record.get(gradeColumn).trim() : "";
+
+                try {
+                    rows.add(new SheetRow(line, id.isEmpty() ? null : Long.valueOf(id), grade));
+                } catch (NumberFormatException ex) {
+                    errors.add(new GradeEntryErrorDTO(line, null, "Invalid id: " + id));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return defend(rows, errors);
+    }
+
+
+    //All or nothing - every row is checked before anything is written, any bad row fails the whole sheet
+    //Then one JDBC batch (split by thesis.bulk.chunk-size) and one counter delta for the whole sheet
+    private BulkTransitionResultDTO defend(List<SheetRow> rows, List<GradeEntryErrorDTO> errors) {
+        if (rows.isEmpty() && errors.isEmpty()) {
+            throw new InvalidBulkRequestException("Send at least one grade");
+        }
+        if (rows.size() + errors.size() > maxIds) {
+            throw new InvalidBulkRequestException("At most " + maxIds + " grades per request");
+        }
+
+        //Sheet order, id -> grade
+        Map<Long, Grade> grades = new LinkedHashMap<>();
+        Map<Long, Long> rowOf = new HashMap<>();
+
+        for (SheetRow row : rows) {
+            if (row.id() == null) {
+                errors.add(new GradeEntryErrorDTO(row.row(), null, "Missing id"));
+                continue;
+            }
+            if (rowOf.putIfAbsent(row.id(), row.row()) != null) {
+                errors.add(new GradeEntryErrorDTO(row.row(), row.id(), "Duplicate id - first on row " + rowOf.get(row.id())));
+                continue;
+            }
+
+            Grade grade = parseGrade(row.grade());
+            if (grade == null) {
+                errors.add(new GradeEntryErrorDTO(row.row(), row.id(), "Invalid grade: " + row.grade()));
+            } else {
+                grades.put(row.id(), grade);
+            }
+        }
+
+        //Locked in id order, so nothing can change between the check and the UPDATE
+        List<Long> ids = new ArrayList<>(grades.keySet());
+        Collections.sort(ids);
+        Map<Long, Object[]> current = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            for (Object[] row : thesisRepository.findGradesForUpdate(ids.subList(from, Math.min(from + chunkSize, ids.size())))) {
+                current.put((Long) row[0], row);
+            }
+        }
+
+        for (Long id : ids) {
+            Object[] row = current.get(id);
+            if (row == null) {
+                errors.add(new GradeEntryErrorDTO(rowOf.get(id), id, "Thesis not found"));
+            } else if (row[1] != ThesisStatus.APPROVED) {
+                errors.add(new GradeEntryErrorDTO(rowOf.get(id), id, "Thesis is " + row[1] + ", not APPROVED"));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingLong(GradeEntryErrorDTO::getRow));
+            throw new InvalidGradeSheetException(errors);
+        }
+
+        //Update counts are not checked - with rewriteBatchedStatements they are SUCCESS_NO_INFO (-2), not rows
+        //Nothing to check anyway: every row was read as APPROVED under PESSIMISTIC_WRITE above, so each UPDATE matches
+        List<Map.Entry<Long, Grade>> updates = new ArrayList<>(grades.entrySet());
+        jdbcTemplate.batchUpdate(DEFEND_SQL, updates, chunkSize, (statement, update) -> {
+            statement.setString(1, update.getValue().name());
+            statement.setLong(2, update.getKey());
+        });
+
+        List<ThesisCounters.Change> changes = new ArrayList<>(updates.size());
+        List<ThesisTransitionDTO> outcomes = new ArrayList<>(updates.size());
+        for (Map.Entry<Long, Grade> update : updates) {
+            Object[] row = current.get(update.getKey());
+            changes.add(new ThesisCounters.Change(
+                    ThesisStatus.APPROVED, (Grade) row[2], ThesisStatus.DEFENDED, update.getValue()));
+            outcomes.add(new ThesisTransitionDTO(update.getKey(), TransitionOutcome.UPDATED, ThesisStatus.DEFENDED));
+        }
+        thesisCounters.changedAll(changes);
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            publishUpdated(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+
+        return new BulkTransitionResultDTO(ThesisStatus.DEFENDED, updates.size(), outcomes);
+    }
+
+    //GRADE_5_50 or 5.50 - null if it is neither
+    private static Grade parseGrade(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String grade = value.trim();
+        try {
+            return Grade.valueOf(grade.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignored) {
+            //Not a name - try the number
+        }
+        try {
+            return Grade.fromValue(Double.parseDouble(grade));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    //The UPDATE skipped the entity listener - analytics and list totals get the events it would have sent
+    //Rows as written, one select per chunk
+    private void publishUpdated(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Thesis thesis : thesisRepository.findWritten(ids)) {
+            eventPublisher.publishEvent(new EntityChangedEvent(thesis, ChangeType.UPDATED));
+        }
+    }
+
+    //Request order, duplicates dropped - or the filter's matches in id order
+    private List<Long> resolveIds(BulkTransitionDTO request) {
+        if ((request.getIds() == null) == (request.getFilter() == null)) {
+            throw new InvalidBulkRequestException("Send either ids or filter");
+        }
+
+        if (request.getIds() != null) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            ids.remove(null);
+            if (ids.size() > maxIds) {
+                throw new InvalidBulkRequestException("At most " + maxIds + " ids per request");
+            }
+            return ids;
+        }
+
+        ThesisFilterDTO filter = request.getFilter();
+        List<Long> ids = thesisRepository.findThesisIds(
+                ThesisService.thesisFilter(ThesisStatus.SUBMITTED, filter.getTitle(), filter.getStudentNumber(), null),
+                maxIds + 1);
+        if (ids.size() > maxIds) {
+            throw new InvalidBulkRequestException("Filter matches more than " + maxIds + " theses - narrow it down");
+        }
+        return ids;
+    }
+
+
+    //One line of a grade sheet - row is the 1-based array index or the CSV line
+    private record SheetRow(long row, Long id, String grade) {
+    }
+}
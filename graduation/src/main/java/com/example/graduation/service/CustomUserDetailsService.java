@@ -1,26 +1,57 @@
 package com.example.graduation.service;
 
+import com.example.graduation.config.CacheConfig;
 import com.example.graduation.entity.User;
+import com.example.graduation.jwt.UserPrincipal;
 import com.example.graduation.repository.UserRepository;
 import lombok.AllArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    private final UsernameRegistry usernameRegistry;
 
+
+    //Cached as an immutable UserPrincipal - evicted by UserCacheEvictionListener
+    //Unknown usernames are rejected by UsernameRegistry without a query
     @Override
+    @Cacheable(CacheConfig.USER_DETAILS)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
+        if (!usernameRegistry.mightExist(username)) {
+            throw new UsernameNotFoundException("User not found");
+        }
+
         return userRepository.findByUsername(username)
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> {
+                    usernameRegistry.recordFalsePositive();
+                    return new UsernameNotFoundException("User not found");
+                });
+    }
+
+
+    //Called on successful login when the stored hash uses a lower BCrypt strength
+    //than the configured one - rehash without a password reset
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+
+        User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        user.setPassword(newPassword);
+
+        return UserPrincipal.from(userRepository.save(user));
     }
 }
\ No newline at end of file
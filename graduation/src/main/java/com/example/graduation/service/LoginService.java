@@ -0,0 +1,121 @@
+package com.example.graduation.service;
+
+import com.example.graduation.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//Password checks (BCrypt) run on their own bounded pool
+//so a login storm can't take all Tomcat threads
+@Service
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Counter rejectedCounter;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+
+    public LoginService(AuthenticationManager authenticationManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${auth.login.threads:0}") int threads,
+                        @Value("${auth.login.queue-capacity:50}") int queueCapacity) {
+
+        this.authenticationManager = authenticationManager;
+
+        //0 - one thread per CPU core, BCrypt is CPU bound
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new LoginThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+
+        //Metrics - queue depth, busy threads and rejected logins
+        Gauge.builder("auth.login.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password check")
+                .register(meterRegistry);
+
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks in progress")
+                .register(meterRegistry);
+
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins rejected because the queue was full")
+                .register(meterRegistry);
+
+        this.successTimer = latencyTimer(meterRegistry, "success");
+        this.failureTimer = latencyTimer(meterRegistry, "failure");
+    }
+
+
+    //Fails fast with LoginThrottledException when the queue is full
+    public CompletableFuture<Authentication> authenticate(String username, String password) {
+
+        long start = System.nanoTime();
+
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(username, password)), executor)
+                    .whenComplete((auth, ex) -> recordLatency(start, ex == null));
+
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new LoginThrottledException();
+        }
+    }
+
+
+    //Latency includes time spent waiting in the queue
+    private void recordLatency(long start, boolean success) {
+        (success ? successTimer : failureTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.login.latency")
+                .description("Login latency - queue wait and password check")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    private static class LoginThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
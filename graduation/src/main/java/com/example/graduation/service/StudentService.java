@@ -1,67 +1,98 @@
 package com.example.graduation.service;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.student.CreateStudentDTO;
 import com.example.graduation.dto.student.StudentDTO;
 import com.example.graduation.dto.student.UpdateStudentDTO;
-import com.example.graduation.entity.User;
 import com.example.graduation.exception.StudentNotFoundException;
 import com.example.graduation.repository.StudentRepository;
-import com.example.graduation.repository.UserRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.KeysetCursor;
+import com.example.graduation.repository.projection.ListTotals;
+import com.example.graduation.export.ExportColumn;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
 import lombok.AllArgsConstructor;
-import org.hibernate.sql.Update;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.modelmapper.ModelMapper;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.mapper.StudentMapper;
 import com.example.graduation.repository.specification.StudentSpecification;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final ThesisRepository thesisRepository;
     private final UserService userService;
+    private final ThesisCounters thesisCounters;
 
-    private final ModelMapper modelMapper;
+    private final StudentMapper studentMapper;
 
+    private final Exporter exporter;
 
+    //Cursor paging sorts - non-null Student columns
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "firstName", "lastName", "studentNumber");
 
-    public Page<StudentDTO> getAllStudents(
+    private static final List<ExportColumn<StudentDTO>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", StudentDTO::getId),
+            ExportColumn.of("firstName", StudentDTO::getFirstName),
+            ExportColumn.of("lastName", StudentDTO::getLastName),
+            ExportColumn.of("studentNumber", StudentDTO::getStudentNumber));
+
+
+
+    //countMode - EXACT counts on every page, NONE never, CACHED once per filter values
+    public Slice<StudentDTO> getAllStudents(
             String firstName, String lastName, String studentNumber,
-            int page, int size, String sortField, String sortDir) {
+            int page, int size, String sortField, String sortDir, CountMode countMode) {
 
 
+        DtoProjectionQuery.checkPageSize(size);
         Pageable pageable = PageRequest.of(page, size,
                 sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending());
 
 
-        //Initialize Specification
-        Specification<Student> spec = (root, query, cb) -> cb.conjunction();
+        Specification<Student> spec = studentFilter(firstName, lastName, studentNumber);
 
+        //Selects StudentDTO columns directly - no entities, no mapping
+        return studentRepository.findStudentDTOs(spec, pageable, countMode,
+                ListTotals.key(Student.class, firstName, lastName, studentNumber));
+    }
 
-        //Criterial queries - First Name, Last Name and Student Number
-        if(firstName != null && !firstName.isBlank() ) {
-            spec = spec.and(StudentSpecification.firstNameContains(firstName));
-        }
-        if(lastName != null && !lastName.isBlank() ) {
-            spec = spec.and(StudentSpecification.lastNameContains(lastName));
-        }
-        if(studentNumber != null && !studentNumber.isBlank()) {
-            spec = spec.and(StudentSpecification.studentNumberEquals(studentNumber));
-        }
+    //Cursor (keyset) variant - same filters, seeks past the last row instead of OFFSET
+    public CursorPage<StudentDTO> getStudentsAfter(
+            String firstName, String lastName, String studentNumber,
+            String cursor, int size, String sortField, String sortDir) {
+
+        DtoProjectionQuery.checkCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.resolve(cursor, sortField, sortDir, CURSOR_SORT_FIELDS);
+        Specification<Student> spec = studentFilter(firstName, lastName, studentNumber);
+
+        return studentRepository.findStudentDTOs(spec, position, size);
+    }
 
+    //Export - every matching student in id order, same filters as the list
+    public StreamingResponseBody exportStudents(
+            String firstName, String lastName, String studentNumber, ExportFormat format) {
 
-        Page<Student> studentsPage = studentRepository.findAll(spec, pageable);
+        Specification<Student> spec = studentFilter(firstName, lastName, studentNumber);
 
-        return studentsPage.map(this::convertToStudentDTO);
+        return exporter.body(format, EXPORT_COLUMNS, () -> studentRepository.streamStudentDTOs(spec, Sort.by("id")));
     }
 
 
@@ -96,12 +127,18 @@ public class StudentService {
 
 
     //DELETE Student
+    //The thesis goes with the Student, deleted first (it holds the foreign key) - counted out in the same transaction
+    @Transactional
     public void deleteStudent(long id) {
 
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new StudentNotFoundException(id));
 
+        Optional<Thesis> thesis = thesisRepository.findByStudentId(id);
+        thesis.ifPresent(thesisRepository::delete);
+
         studentRepository.delete(student);
+        thesis.ifPresent(thesisCounters::deleted);
     }
 
 
@@ -122,19 +159,41 @@ public class StudentService {
 
 
 
+    //List filters - shared by the page and cursor variants
+    private Specification<Student> studentFilter(String firstName, String lastName, String studentNumber) {
+
+        //Initialize Specification
+        Specification<Student> spec = (root, query, cb) -> cb.conjunction();
+
+
+        //Criterial queries - First Name, Last Name and Student Number
+        if(firstName != null && !firstName.isBlank() ) {
+            spec = spec.and(StudentSpecification.firstNameContains(firstName));
+        }
+        if(lastName != null && !lastName.isBlank() ) {
+            spec = spec.and(StudentSpecification.lastNameContains(lastName));
+        }
+        if(studentNumber != null && !studentNumber.isBlank()) {
+            spec = spec.and(StudentSpecification.studentNumberEquals(studentNumber));
+        }
+
+        return spec;
+    }
+
+
     //
     //
     //ENTITY -> DTO
     private StudentDTO convertToStudentDTO(Student student) {
-        return modelMapper.map(student, StudentDTO.class);
+        return studentMapper.toStudentDTO(student);
     }
 
     private CreateStudentDTO convertToCreateStudentDTO(Student student) {
-        return modelMapper.map(student, CreateStudentDTO.class);
+        return studentMapper.toCreateStudentDTO(student);
     }
 
     private UpdateStudentDTO convertToUpdateStudentDTO(Student student) {
-        return modelMapper.map(student, UpdateStudentDTO.class);
+        return studentMapper.toUpdateStudentDTO(student);
     }
 
 
@@ -142,14 +201,14 @@ public class StudentService {
     //
     //DTO -> ENTITY
     private Student convertToEntity(StudentDTO studentDto) {
-        return modelMapper.map(studentDto, Student.class);
+        return studentMapper.toEntity(studentDto);
     }
 
     private Student convertToEntity(CreateStudentDTO studentDto) {
-        return modelMapper.map(studentDto, Student.class);
+        return studentMapper.toEntity(studentDto);
     }
 
     private Student convertToEntity(UpdateStudentDTO studentDto) {
-        return modelMapper.map(studentDto, Student.class);
+        return studentMapper.toEntity(studentDto);
     }
 }
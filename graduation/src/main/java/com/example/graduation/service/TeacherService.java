@@ -1,26 +1,38 @@
 package com.example.graduation.service;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.teacher.CreateTeacherDTO;
 import com.example.graduation.dto.teacher.TeacherDTO;
 import com.example.graduation.dto.teacher.UpdateTeacherDTO;
 import com.example.graduation.entity.Teacher;
+import com.example.graduation.mapper.TeacherMapper;
 import com.example.graduation.entity.User;
 import com.example.graduation.exception.TeacherNotFoundException;
 import com.example.graduation.repository.TeacherRepository;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.KeysetCursor;
+import com.example.graduation.repository.projection.ListTotals;
 import com.example.graduation.repository.UserRepository;
 import com.example.graduation.repository.specification.TeacherSpecification;
+import com.example.graduation.export.ExportColumn;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
@@ -29,37 +41,57 @@ public class TeacherService {
     private final TeacherRepository teacherRepository;
     private final UserService userService;
 
-    private final ModelMapper modelMapper;
+    private final TeacherMapper teacherMapper;
 
+    private final Exporter exporter;
 
-    public Page<TeacherDTO> getAllTeachers(
+    //Cursor paging sorts - non-null Teacher columns
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "firstName", "lastName", "teacherNumber");
+
+    private static final List<ExportColumn<TeacherDTO>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", TeacherDTO::getId),
+            ExportColumn.of("firstName", TeacherDTO::getFirstName),
+            ExportColumn.of("lastName", TeacherDTO::getLastName),
+            ExportColumn.of("teacherNumber", TeacherDTO::getTeacherNumber));
+
+
+    //countMode - EXACT counts on every page, NONE never, CACHED once per filter values
+    public Slice<TeacherDTO> getAllTeachers(
             String firstName, String lastName, String teacherNumber,
-            int page, int size, String sortField, String sortDir) {
+            int page, int size, String sortField, String sortDir, CountMode countMode) {
 
 
+        DtoProjectionQuery.checkPageSize(size);
         Pageable pageable = PageRequest.of(page, size,
                 sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending());
 
 
-        //Initialize Specification
-        Specification<Teacher> spec = (root, query, cb) -> cb.conjunction();
+        Specification<Teacher> spec = teacherFilter(firstName, lastName, teacherNumber);
 
+        //Selects TeacherDTO columns directly - no entities, no mapping
+        return teacherRepository.findTeacherDTOs(spec, pageable, countMode,
+                ListTotals.key(Teacher.class, firstName, lastName, teacherNumber));
+    }
 
-        //Criterial queries - First Name, Last Name and Teacher Number
-        if(firstName != null && !firstName.isBlank() ) {
-            spec = spec.and(TeacherSpecification.firstNameContains(firstName));
-        }
-        if(lastName != null && !lastName.isBlank() ) {
-            spec = spec.and(TeacherSpecification.lastNameContains(lastName));
-        }
-        if(teacherNumber != null && !teacherNumber.isBlank()) {
-            spec = spec.and(TeacherSpecification.teacherNumberEquals(teacherNumber));
-        }
+    //Cursor (keyset) variant - same filters, seeks past the last row instead of OFFSET
+    public CursorPage<TeacherDTO> getTeachersAfter(
+            String firstName, String lastName, String teacherNumber,
+            String cursor, int size, String sortField, String sortDir) {
+
+        DtoProjectionQuery.checkCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.resolve(cursor, sortField, sortDir, CURSOR_SORT_FIELDS);
+        Specification<Teacher> spec = teacherFilter(firstName, lastName, teacherNumber);
+
+        return teacherRepository.findTeacherDTOs(spec, position, size);
+    }
 
+    //Export - every matching teacher in id order, same filters as the list
+    public StreamingResponseBody exportTeachers(
+            String firstName, String lastName, String teacherNumber, ExportFormat format) {
 
-        Page<Teacher> teachersPage = teacherRepository.findAll(spec, pageable);
+        Specification<Teacher> spec = teacherFilter(firstName, lastName, teacherNumber);
 
-        return teachersPage.map(this::convertToTeacherDTO);
+        return exporter.body(format, EXPORT_COLUMNS, () -> teacherRepository.streamTeacherDTOs(spec, Sort.by("id")));
     }
 
 
@@ -119,19 +151,41 @@ public class TeacherService {
                 .map(this::convertToUpdateTeacherDTO);
     }
 
+    //List filters - shared by the page and cursor variants
+    private Specification<Teacher> teacherFilter(String firstName, String lastName, String teacherNumber) {
+
+        //Initialize Specification
+        Specification<Teacher> spec = (root, query, cb) -> cb.conjunction();
+
+
+        //Criterial queries - First Name, Last Name and Teacher Number
+        if(firstName != null && !firstName.isBlank() ) {
+            spec = spec.and(TeacherSpecification.firstNameContains(firstName));
+        }
+        if(lastName != null && !lastName.isBlank() ) {
+            spec = spec.and(TeacherSpecification.lastNameContains(lastName));
+        }
+        if(teacherNumber != null && !teacherNumber.isBlank()) {
+            spec = spec.and(TeacherSpecification.teacherNumberEquals(teacherNumber));
+        }
+
+        return spec;
+    }
+
+
     //
     //
     //ENTITY -> DTO
     private TeacherDTO convertToTeacherDTO(Teacher teacher) {
-        return modelMapper.map(teacher, TeacherDTO.class);
+        return teacherMapper.toTeacherDTO(teacher);
     }
 
     private CreateTeacherDTO convertToCreateTeacherDTO(Teacher teacher) {
-        return modelMapper.map(teacher, CreateTeacherDTO.class);
+        return teacherMapper.toCreateTeacherDTO(teacher);
     }
 
     private UpdateTeacherDTO convertToUpdateTeacherDTO(Teacher teacher) {
-        return modelMapper.map(teacher, UpdateTeacherDTO.class);
+        return teacherMapper.toUpdateTeacherDTO(teacher);
     }
 
 
@@ -139,14 +193,14 @@ public class TeacherService {
     //
     //DTO -> ENTITY
     private Teacher convertToEntity(TeacherDTO teacherDto) {
-        return modelMapper.map(teacherDto, Teacher.class);
+        return teacherMapper.toEntity(teacherDto);
     }
 
     private Teacher convertToEntity(CreateTeacherDTO teacherDto) {
-        return modelMapper.map(teacherDto, Teacher.class);
+        return teacherMapper.toEntity(teacherDto);
     }
 
     private Teacher convertToEntity(UpdateTeacherDTO teacherDto) {
-        return modelMapper.map(teacherDto, Teacher.class);
+        return teacherMapper.toEntity(teacherDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.example.graduation.service;
+
+import com.example.graduation.dto.thesis.ThesisStatsDTO;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.ThesisCounter;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.ThesisCounterRepository;
+import com.example.graduation.repository.ThesisRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Thesis counts per Status and per Grade - thesis_counter rows instead of COUNT(*) over thesis
+//The services add the deltas of each write in its own transaction - they commit or roll back together
+//ThesisService for thesis writes, StudentService.deleteStudent for the thesis removed with its Student
+//Writes that go around the services (repositories, SQL) are corrected by reconcile()
+@Service
+@AllArgsConstructor
+public class ThesisCounters {
+
+    private final ThesisCounterRepository thesisCounterRepository;
+    private final ThesisRepository thesisRepository;
+
+
+    //One thesis' Status / Grade before and after a write
+    public record Change(ThesisStatus oldStatus, Grade oldGrade, ThesisStatus newStatus, Grade newGrade) {
+    }
+
+
+    public static String statusKey(ThesisStatus status) {
+        return "STATUS:" + status.name();
+    }
+
+    public static String gradeKey(Grade grade) {
+        return "GRADE:" + grade.name();
+    }
+
+
+    //New thesis
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Thesis thesis) {
+        apply(null, null, thesis.getStatus(), thesis.getGrade());
+    }
+
+    //Status and/or Grade changed - old values read before the entity was modified
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(ThesisStatus oldStatus, Grade oldGrade, Thesis thesis) {
+        apply(oldStatus, oldGrade, thesis.getStatus(), thesis.getGrade());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Thesis thesis) {
+        apply(thesis.getStatus(), thesis.getGrade(), null, null);
+    }
+
+    //Bulk UPDATE - count theses moved from one Status to another, grades unchanged
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transitioned(ThesisStatus from, ThesisStatus to, long count) {
+        apply(from, null, to, null, count);
+    }
+
+    //Bulk UPDATE with a different change per row - summed up, one counter UPDATE per Status / Grade
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changedAll(List<Change> changes) {
+        Map<String, Long> deltas = new TreeMap<>();
+        for (Change change : changes) {
+            addDeltas(deltas, change.oldStatus(), change.oldGrade(), change.newStatus(), change.newGrade(), 1);
+        }
+        write(deltas);
+    }
+
+
+    //Reads the counter rows only - a fixed number of primary key rows, no matter how many theses
+    @Transactional(readOnly = true)
+    public ThesisStatsDTO getStats() {
+        Map<String, Long> totals = thesisCounterRepository.findAll().stream()
+                .collect(Collectors.toMap(ThesisCounter::getName, ThesisCounter::getTotal));
+
+        Map<ThesisStatus, Long> byStatus = new EnumMap<>(ThesisStatus.class);
+        for (ThesisStatus status : ThesisStatus.values()) {
+            byStatus.put(status, totals.getOrDefault(statusKey(status), 0L));
+        }
+
+        Map<Grade, Long> byGrade = new EnumMap<>(Grade.class);
+        for (Grade grade : Grade.values()) {
+            byGrade.put(grade, totals.getOrDefault(gradeKey(grade), 0L));
+        }
+
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+
+        return new ThesisStatsDTO(total, byStatus, byGrade);
+    }
+
+
+    //Full recount - fixes drift from writes that bypassed the services
+    //Counter rows are locked first, so no delta can commit between the recount and the overwrite
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${thesis.counters.reconcile-interval-ms:900000}",
+            initialDelayString = "${thesis.counters.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        Map<String, ThesisCounter> counters = thesisCounterRepository.findAllForUpdate().stream()
+                .collect(Collectors.toMap(ThesisCounter::getName, Function.identity()));
+
+        Map<String, Long> actual = new HashMap<>();
+        for (ThesisStatus status : ThesisStatus.values()) {
+            actual.put(statusKey(status), 0L);
+        }
+        for (Grade grade : Grade.values()) {
+            actual.put(gradeKey(grade), 0L);
+        }
+        for (Object[] row : thesisRepository.countByStatus()) {
+            actual.put(statusKey((ThesisStatus) row[0]), (Long) row[1]);
+        }
+        for (Object[] row : thesisRepository.countByGrade()) {
+            actual.put(gradeKey((Grade) row[0]), (Long) row[1]);
+        }
+
+        //Managed rows - only the ones that drifted are updated on flush
+        actual.forEach((name, total) -> {
+            ThesisCounter counter = counters.get(name);
+            if (counter == null) {
+                thesisCounterRepository.save(new ThesisCounter(name, total));
+            } else {
+                counter.setTotal(total);
+            }
+        });
+    }
+
+
+    private void apply(ThesisStatus oldStatus, Grade oldGrade, ThesisStatus newStatus, Grade newGrade) {
+        apply(oldStatus, oldGrade, newStatus, newGrade, 1);
+    }
+
+    //count theses that all made the same change
+    private void apply(ThesisStatus oldStatus, Grade oldGrade, ThesisStatus newStatus, Grade newGrade, long count) {
+        //Sorted by name - concurrent transactions lock the counter rows in the same order
+        Map<String, Long> deltas = new TreeMap<>();
+        addDeltas(deltas, oldStatus, oldGrade, newStatus, newGrade, count);
+        write(deltas);
+    }
+
+    private static void addDeltas(Map<String, Long> deltas,
+                                  ThesisStatus oldStatus, Grade oldGrade, ThesisStatus newStatus, Grade newGrade,
+                                  long count) {
+        if (oldStatus != null) {
+            deltas.merge(statusKey(oldStatus), -count, Long::sum);
+        }
+        if (oldGrade != null) {
+            deltas.merge(gradeKey(oldGrade), -count, Long::sum);
+        }
+        if (newStatus != null) {
+            deltas.merge(statusKey(newStatus), count, Long::sum);
+        }
+        if (newGrade != null) {
+            deltas.merge(gradeKey(newGrade), count, Long::sum);
+        }
+    }
+
+    private void write(Map<String, Long> deltas) {
+        deltas.forEach((name, delta) -> {
+            if (delta != 0) {
+                thesisCounterRepository.add(name, delta);
+            }
+        });
+    }
+}
@@ -1,27 +1,47 @@
 package com.example.graduation.service;
 
+import com.example.graduation.dto.common.CursorPage;
 import com.example.graduation.dto.thesis.*;
 import com.example.graduation.entity.Student;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.User;
 import com.example.graduation.entity.enums.Grade;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import com.example.graduation.exception.ThesisConflictException;
 import com.example.graduation.exception.ThesisNotFoundException;
+import com.example.graduation.export.ExportColumn;
+import com.example.graduation.export.ExportFormat;
+import com.example.graduation.export.Exporter;
+import com.example.graduation.mapper.ThesisMapper;
 import com.example.graduation.repository.StudentRepository;
 import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.example.graduation.repository.projection.KeysetCursor;
+import com.example.graduation.repository.projection.ListTotals;
+import com.example.graduation.repository.projection.ThesisState;
+import com.example.graduation.repository.search.FullTextQuery;
 import com.example.graduation.repository.specification.ThesisSpecification;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.springframework.security.access.AccessDeniedException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 @AllArgsConstructor
@@ -32,12 +52,35 @@ public class ThesisService {
 
     private final UserService userService;
 
-    private final ModelMapper modelMapper;
+    private final ThesisMapper thesisMapper;
+
+    //Status / Grade counts - updated in the same transaction as each write below
+    private final ThesisCounters thesisCounters;
+
+    private final Exporter exporter;
+
+    //Compare-and-set writes go around the entity listener - their EntityChangedEvent is sent from here
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String CHANGED_BY_SOMEONE_ELSE = "Thesis was changed by someone else - reload it and try again";
+
+    //Cursor paging sorts - non-null Thesis columns
+    private static final Set<String> CURSOR_SORT_FIELDS = Set.of("id", "title");
+
+    //CSV export - grade as its value (5.50)
+    private static final List<ExportColumn<ThesisSearchDTO>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", ThesisSearchDTO::getId),
+            ExportColumn.of("title", ThesisSearchDTO::getTitle),
+            ExportColumn.of("status", ThesisSearchDTO::getStatus),
+            ExportColumn.of("studentId", ThesisSearchDTO::getStudentId),
+            ExportColumn.of("studentNumber", ThesisSearchDTO::getStudentNumber),
+            ExportColumn.of("grade", ThesisSearchDTO::getGrade));
 
 
     //Student View
     //
     //Upload thesis - Initial Status SUBMITTED
+    @Transactional
     public SubmittedThesisDTO submitThesisByStudent(CreateSubmittedThesisDTO thesisDTO) throws AccessDeniedException {
 
         User currentUser = userService.getCurrentUser();
@@ -55,6 +98,7 @@ public class ThesisService {
         thesis.setStatus(ThesisStatus.SUBMITTED);
 
         thesisRepository.save(thesis);
+        thesisCounters.created(thesis);
 
         return convertToSubmittedThesisDTO(thesis);
     }
@@ -62,18 +106,14 @@ public class ThesisService {
     //Student View
     //
     //Get Thesis By Student - Currently logged-in user
+    //Student ID comes from the principal - the thesis lookup is the only query
     public Optional<StudentThesisDTO> getOwnThesis() {
-        User currentUser = userService.getCurrentUser();
+        Long studentId = userService.getCurrentStudentId();
 
-        if (!userService.isUserStudent(currentUser)) {
+        if (studentId == null) {
             throw new RuntimeException("User is not a student");
         }
 
-        Long studentId = currentUser.getStudent_owner().getId();
-
-        //Debug
-        System.out.println("Student ID: " + studentId);
-
 
         return thesisRepository.findByStudentId(studentId)
                 .map(this::convertToStudentThesisDTO);
@@ -88,39 +128,40 @@ public class ThesisService {
     //Theses by Status - SUBMITTED
     //
     //Get all Submitted Theses
-    public Page<SubmittedThesisDTO> getAllSubmittedTheses(
+    //countMode - EXACT counts on every page, NONE never, CACHED once per filter values
+    public Slice<SubmittedThesisDTO> getAllSubmittedTheses(
             String title, String studentNumber,
-            int page, int size, String sortField, String sortDir
+            int page, int size, String sortField, String sortDir, CountMode countMode
     ) {
 
+        DtoProjectionQuery.checkPageSize(size);
         Pageable pageable = PageRequest.of(page, size,
                 sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending());
 
 
-        //Initialize Specification
-        Specification<Thesis> spec = (root, query, cb) -> cb.conjunction();
-
-        //Fetch only SUBMITTED Theses
-        ThesisStatus desiredStatus = ThesisStatus.SUBMITTED;
-        spec = spec.and(ThesisSpecification.statusEquals(desiredStatus));
-
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.SUBMITTED, title, studentNumber, null);
 
-        //Criterial queries - Title and Student Number
-        if(title != null && !title.isBlank() ) {
-            spec = spec.and(ThesisSpecification.titleContains(title));
-        }
-        if(studentNumber != null && !studentNumber.isBlank()) {
-            spec = spec.and(ThesisSpecification.studentNumberEquals(studentNumber));
-        }
+        //Selects SubmittedThesisDTO columns directly - no entities, no mapping
+        return thesisRepository.findSubmittedThesisDTOs(spec, pageable, countMode,
+                ListTotals.key(Thesis.class, ThesisStatus.SUBMITTED, title, studentNumber));
+    }
 
+    //Cursor (keyset) variant - same filters, seeks past the last row instead of OFFSET
+    public CursorPage<SubmittedThesisDTO> getSubmittedThesesAfter(
+            String title, String studentNumber,
+            String cursor, int size, String sortField, String sortDir
+    ) {
 
-        Page<Thesis> thesesPage = thesisRepository.findAll(spec, pageable);
+        DtoProjectionQuery.checkCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.resolve(cursor, sortField, sortDir, CURSOR_SORT_FIELDS);
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.SUBMITTED, title, studentNumber, null);
 
-        return thesesPage.map(this::convertToSubmittedThesisDTO);
+        return thesisRepository.findSubmittedThesisDTOs(spec, position, size);
     }
 
 
     //Upload thesis - Initial Status SUBMITTED
+    @Transactional
     public SubmittedThesisDTO submitThesis(CreateSubmittedThesisDTO thesisDTO) {
 
         //Teacher doesnt need to pass logged-in user thats for use in Student view
@@ -131,6 +172,7 @@ public class ThesisService {
         thesis.setStatus(ThesisStatus.SUBMITTED);
 
         Thesis savedThesis = thesisRepository.save(thesis);
+        thesisCounters.created(savedThesis);
 
         return convertToSubmittedThesisDTO(savedThesis);
     }
@@ -138,17 +180,17 @@ public class ThesisService {
 
 
     //Update Submitted Thesis
+    //Compare-and-set on status and the edit form's version - a thesis changed since the form was loaded is a 409
+    @Transactional
     public SubmittedThesisDTO updateSubmittedThesis(Long id, UpdateSubmittedThesisDTO thesisDTO) {
 
-        Thesis existingThesis = thesisRepository.findById(id)
-                .orElseThrow(() -> new ThesisNotFoundException(id));
-
-        existingThesis.setTitle(thesisDTO.getTitle());
+        int updated = thesisRepository.updateTitle(id, thesisDTO.getVersion(), ThesisStatus.SUBMITTED, thesisDTO.getTitle());
+        requireUpdated(updated, id, ThesisStatus.SUBMITTED, () -> new ThesisNotFoundException(id));
 
+        Thesis thesis = loadWritten(id);
+        publishUpdated(thesis);
 
-        Thesis savedThesis = thesisRepository.save(existingThesis);
-
-        return convertToSubmittedThesisDTO(savedThesis);
+        return convertToSubmittedThesisDTO(thesis);
     }
 
     //Get Thesis By ID
@@ -167,16 +209,21 @@ public class ThesisService {
 
 
     //Change Thesis Status from Submitted to Approved
+    //One conditional UPDATE - SET status = APPROVED WHERE id = ? AND status = SUBMITTED
+    //The row is only read before that if the UPDATE matched nothing, to tell 404 from 409
+    @Transactional
     public ApprovedThesisDTO approveThesis(Long id) {
 
-        Thesis thesis = thesisRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Thesis not found"));
-
         //Approve thesis
-        thesis.setStatus(ThesisStatus.APPROVED);
-        Thesis savedThesis = thesisRepository.save(thesis);
+        int updated = thesisRepository.transition(id, ThesisStatus.SUBMITTED, ThesisStatus.APPROVED);
+        requireUpdated(updated, id, ThesisStatus.SUBMITTED, () -> new EntityNotFoundException("Thesis not found"));
+
+        //Grade is not touched - old and new are the same
+        Thesis thesis = loadWritten(id);
+        thesisCounters.changed(ThesisStatus.SUBMITTED, thesis.getGrade(), thesis);
+        publishUpdated(thesis);
 
-        return convertToApprovedThesisDTO(savedThesis);
+        return convertToApprovedThesisDTO(thesis);
     }
 
 
@@ -186,36 +233,34 @@ public class ThesisService {
     //Theses by Status - APPROVED
     //
     //Get all Approved Theses
-    public Page<ApprovedThesisDTO> getAllApprovedTheses(
+    public Slice<ApprovedThesisDTO> getAllApprovedTheses(
             String title, String studentNumber,
-            int page, int size, String sortField, String sortDir
+            int page, int size, String sortField, String sortDir, CountMode countMode
     ) {
 
+        DtoProjectionQuery.checkPageSize(size);
         Pageable pageable = PageRequest.of(page, size,
                 sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending());
 
 
-        //Initialize Specification
-        Specification<Thesis> spec = (root, query, cb) -> cb.conjunction();
-
-        //Fetch only APPROVED Theses
-        ThesisStatus desiredStatus = ThesisStatus.APPROVED;
-        spec = spec.and(ThesisSpecification.statusEquals(desiredStatus));
-
-
-        //Criterial queries - Title and Student Number
-        if(title != null && !title.isBlank() ) {
-            spec = spec.and(ThesisSpecification.titleContains(title));
-        }
-        if(studentNumber != null && !studentNumber.isBlank()) {
-            spec = spec.and(ThesisSpecification.studentNumberEquals(studentNumber));
-        }
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.APPROVED, title, studentNumber, null);
 
+        //Selects ApprovedThesisDTO columns directly - no entities, no mapping
+        return thesisRepository.findApprovedThesisDTOs(spec, pageable, countMode,
+                ListTotals.key(Thesis.class, ThesisStatus.APPROVED, title, studentNumber));
+    }
 
-        Page<Thesis> thesesPage = thesisRepository.findAll(spec, pageable);
+    //Cursor (keyset) variant - same filters, seeks past the last row instead of OFFSET
+    public CursorPage<ApprovedThesisDTO> getApprovedThesesAfter(
+            String title, String studentNumber,
+            String cursor, int size, String sortField, String sortDir
+    ) {
 
+        DtoProjectionQuery.checkCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.resolve(cursor, sortField, sortDir, CURSOR_SORT_FIELDS);
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.APPROVED, title, studentNumber, null);
 
-        return thesesPage.map(this::convertToApprovedThesisDTO);
+        return thesisRepository.findApprovedThesisDTOs(spec, position, size);
     }
 
 
@@ -224,54 +269,99 @@ public class ThesisService {
     //Theses by Status - DEFENDED
     //
     //Get all Defended Theses
-    public Page<DefendedThesisDTO> getAllDefendedTheses(
+    public Slice<DefendedThesisDTO> getAllDefendedTheses(
             String title, String studentNumber, Grade grade,
-            int page, int size, String sortField, String sortDir
+            int page, int size, String sortField, String sortDir, CountMode countMode
     ) {
 
 
+        DtoProjectionQuery.checkPageSize(size);
         Pageable pageable = PageRequest.of(page, size,
                 sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending());
 
 
-        //Initialize Specification
-        Specification<Thesis> spec = (root, query, cb) -> cb.conjunction();
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.DEFENDED, title, studentNumber, grade);
 
-        //Fetch only DEFENDED Theses
-        ThesisStatus desiredStatus = ThesisStatus.DEFENDED;
-        spec = spec.and(ThesisSpecification.statusEquals(desiredStatus));
+        //Selects DefendedThesisDTO columns directly - no entities, no mapping
+        return thesisRepository.findDefendedThesisDTOs(spec, pageable, countMode,
+                ListTotals.key(Thesis.class, ThesisStatus.DEFENDED, title, studentNumber, grade));
+    }
 
+    //Cursor (keyset) variant - same filters, seeks past the last row instead of OFFSET
+    public CursorPage<DefendedThesisDTO> getDefendedThesesAfter(
+            String title, String studentNumber, Grade grade,
+            String cursor, int size, String sortField, String sortDir
+    ) {
 
-        //Criterial queries - Title, Student Number and Grade
-        if(title != null && !title.isBlank() ) {
-            spec = spec.and(ThesisSpecification.titleContains(title));
-        }
-        if(studentNumber != null && !studentNumber.isBlank()) {
-            spec = spec.and(ThesisSpecification.studentNumberEquals(studentNumber));
-        }
-        if(grade != null) {
-            spec = spec.and(ThesisSpecification.gradeEquals(grade));
+        DtoProjectionQuery.checkCursorPageSize(size);
+        KeysetCursor position = KeysetCursor.resolve(cursor, sortField, sortDir, CURSOR_SORT_FIELDS);
+        Specification<Thesis> spec = thesisFilter(ThesisStatus.DEFENDED, title, studentNumber, grade);
+
+        return thesisRepository.findDefendedThesisDTOs(spec, position, size);
+    }
+
+    //Title search - full-text, best match first, optionally one Status only
+    //Text without a word long enough for the index falls back to titleContains
+    public Slice<ThesisSearchDTO> searchTheses(
+            String text, ThesisStatus status,
+            int page, int size, CountMode countMode
+    ) {
+
+        DtoProjectionQuery.checkPageSize(size);
+        Specification<Thesis> spec = thesisFilter(status, null, null, null);
+        Pageable pageable;
+
+        String booleanQuery = FullTextQuery.booleanMode(text);
+        if (booleanQuery != null) {
+            //Unsorted - titleMatches orders by relevance
+            spec = spec.and(ThesisSpecification.titleMatches(booleanQuery));
+            pageable = PageRequest.of(page, size);
+        } else {
+            spec = spec.and(ThesisSpecification.titleContains(text));
+            pageable = PageRequest.of(page, size, Sort.by("title"));
         }
 
 
-        Page<Thesis> thesesPage = thesisRepository.findAll(spec, pageable);
+        //Selects ThesisSearchDTO columns directly - no entities, no mapping
+        return thesisRepository.searchThesisDTOs(spec, pageable, countMode,
+                ListTotals.key(Thesis.class, "search", status, text));
+    }
+
 
+    //Export - every matching thesis in id order, same filters as the lists
+    //No status - all of them
+    public StreamingResponseBody exportTheses(
+            ThesisStatus status, String title, String studentNumber, Grade grade, ExportFormat format
+    ) {
 
-        return thesesPage.map(this::convertToDefendedThesisDTO);
+        Specification<Thesis> spec = thesisFilter(status, title, studentNumber, grade);
+
+        return exporter.body(format, EXPORT_COLUMNS, () -> thesisRepository.streamThesisDTOs(spec, Sort.by("id")));
     }
 
+
     //Update Defended Thesis
+    //Compare-and-set on version and status, like the other writes
+    //The old grade is read first - the counters need it, the UPDATE can't return it
+    @Transactional
     public DefendedThesisDTO updateDefendedThesis(Long id, UpdateDefendedThesisDTO thesisDTO) {
 
-        Thesis thesis = thesisRepository.findById(id)
+        ThesisState state = thesisRepository.findStateById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Thesis not found"));
+        requireStatus(state, ThesisStatus.DEFENDED);
 
-        thesis.setGrade(thesisDTO.getGrade());
+        if (thesisDTO.getVersion() != null && !thesisDTO.getVersion().equals(state.version())) {
+            throw new ThesisConflictException(CHANGED_BY_SOMEONE_ELSE);
+        }
 
+        int updated = thesisRepository.updateGrade(id, state.version(), ThesisStatus.DEFENDED, thesisDTO.getGrade());
+        requireUpdated(updated, id, ThesisStatus.DEFENDED, () -> new EntityNotFoundException("Thesis not found"));
 
-        Thesis savedThesis = thesisRepository.save(thesis);
+        Thesis thesis = loadWritten(id);
+        thesisCounters.changed(ThesisStatus.DEFENDED, state.grade(), thesis);
+        publishUpdated(thesis);
 
-        return convertToDefendedThesisDTO(savedThesis);
+        return convertToDefendedThesisDTO(thesis);
     }
 
 
@@ -289,20 +379,21 @@ public class ThesisService {
 
 
     //Change Thesis status from Approved to Defended
+    //One conditional UPDATE - SET status = DEFENDED, grade = ? WHERE id = ? AND status = APPROVED
+    @Transactional
     public CreateDefendedThesisDTO defendThesis(Long id, CreateDefendedThesisDTO thesisDTO) {
 
-        Thesis thesis = thesisRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Thesis not found"));
-
-
         //Change thesis status
-        thesis.setStatus(ThesisStatus.DEFENDED);
-        thesis.setGrade(thesisDTO.getGrade());
+        int updated = thesisRepository.transition(
+                id, ThesisStatus.APPROVED, ThesisStatus.DEFENDED, thesisDTO.getGrade());
+        requireUpdated(updated, id, ThesisStatus.APPROVED, () -> new EntityNotFoundException("Thesis not found"));
 
+        //An approved thesis has no grade yet - only the defense and the defended edit set one
+        Thesis thesis = loadWritten(id);
+        thesisCounters.changed(ThesisStatus.APPROVED, null, thesis);
+        publishUpdated(thesis);
 
-        Thesis savedThesis = thesisRepository.save(thesis);
-
-        return modelMapper.map(savedThesis, CreateDefendedThesisDTO.class);
+        return thesisMapper.toCreateDefendedThesisDTO(thesis);
     }
 
 
@@ -311,17 +402,63 @@ public class ThesisService {
     //Theses by Action - DELETE
     //
     //One method for Submitted, Approved and Defended Theses
+    @Transactional
     public void deleteThesis(Long id) {
 
         Thesis thesis = thesisRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Thesis not found"));
 
         thesisRepository.delete(thesis);
+        thesisCounters.deleted(thesis);
     }
 
 
 
 
+    //Dashboard
+    //
+    //Theses per Status and Grade - maintained counters, no scan of the thesis table
+    public ThesisStatsDTO getThesisStats() {
+        return thesisCounters.getStats();
+    }
+
+
+
+
+
+    //Compare-and-set helpers
+    //
+    //The UPDATE matched nothing - read the row once to tell why
+    //No row - notFound (404), another status or version - ThesisConflictException (409)
+    private void requireUpdated(int updated, Long id, ThesisStatus status,
+                                Supplier<? extends RuntimeException> notFound) {
+        if (updated > 0) {
+            return;
+        }
+
+        ThesisState state = thesisRepository.findStateById(id).orElseThrow(notFound);
+        requireStatus(state, status);
+        throw new ThesisConflictException(CHANGED_BY_SOMEONE_ELSE);
+    }
+
+    private static void requireStatus(ThesisState state, ThesisStatus status) {
+        if (state.status() != status) {
+            throw new ThesisConflictException("Thesis is " + state.status() + ", not " + status);
+        }
+    }
+
+    //Thesis as the UPDATE wrote it, new version included, with its Student
+    private Thesis loadWritten(Long id) {
+        return thesisRepository.findWritten(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Thesis not found"));
+    }
+
+    //The UPDATE skipped the entity listener - send the event it would have sent
+    private void publishUpdated(Thesis thesis) {
+        eventPublisher.publishEvent(new EntityChangedEvent(thesis, ChangeType.UPDATED));
+    }
+
+
 
     //HELPER FUNCTIONS
     //
@@ -329,61 +466,59 @@ public class ThesisService {
     //
     //Entity -> Submitted Thesis DTO
 
+    //Student ID / Number are mapped explicitly by ThesisMapper
     private SubmittedThesisDTO convertToSubmittedThesisDTO(Thesis thesis) {
-        SubmittedThesisDTO thesisDTO = modelMapper.map(thesis, SubmittedThesisDTO.class);
-
-        if (thesis.getStudent() != null) {
-            thesisDTO.setStudentId(thesis.getStudent().getId());
-            thesisDTO.setStudentNumber(thesis.getStudent().getStudentNumber());
-        }
-
-        return thesisDTO;
+        return thesisMapper.toSubmittedThesisDTO(thesis);
     }
 
     private UpdateSubmittedThesisDTO convertToUpdateSubmittedThesisDTO(Thesis thesis) {
-        UpdateSubmittedThesisDTO thesisDTO = modelMapper.map(thesis, UpdateSubmittedThesisDTO.class);
+        return thesisMapper.toUpdateSubmittedThesisDTO(thesis);
+    }
+
+    //Teacher View list filters - shared by the page and cursor variants (and bulk actions by filter)
+    static Specification<Thesis> thesisFilter(ThesisStatus status, String title, String studentNumber, Grade grade) {
+
+        //Initialize Specification
+        Specification<Thesis> spec = (root, query, cb) -> cb.conjunction();
+
+        //Fetch only Theses with the given Status
+        spec = spec.and(ThesisSpecification.statusEquals(status));
+
+
+        //Criterial queries - Title, Student Number and Grade
+        if(title != null && !title.isBlank() ) {
+            spec = spec.and(ThesisSpecification.titleContains(title));
+        }
+        if(studentNumber != null && !studentNumber.isBlank()) {
+            spec = spec.and(ThesisSpecification.studentNumberEquals(studentNumber));
+        }
+        if(grade != null) {
+            spec = spec.and(ThesisSpecification.gradeEquals(grade));
+        }
 
-        return thesisDTO;
+        return spec;
     }
 
     private UpdateDefendedThesisDTO convertToUpdateDefendedThesisDTO(Thesis thesis) {
-        UpdateDefendedThesisDTO thesisDTO = modelMapper.map(thesis, UpdateDefendedThesisDTO.class);
-
-        return thesisDTO;
+        return thesisMapper.toUpdateDefendedThesisDTO(thesis);
     }
 
 
 
     //Entity -> Approved Thesis DTO
     private ApprovedThesisDTO convertToApprovedThesisDTO(Thesis thesis) {
-        ApprovedThesisDTO thesisDTO = modelMapper.map(thesis, ApprovedThesisDTO.class);
-
-        if (thesis.getStudent() != null) {
-            thesisDTO.setStudentId(thesis.getStudent().getId());
-            thesisDTO.setStudentNumber(thesis.getStudent().getStudentNumber());
-        }
-
-        return thesisDTO;
+        return thesisMapper.toApprovedThesisDTO(thesis);
     }
 
 
     //Entity -> Defended Thesis DTO
     private DefendedThesisDTO convertToDefendedThesisDTO(Thesis thesis) {
-        DefendedThesisDTO thesisDTO = modelMapper.map(thesis, DefendedThesisDTO.class);
-
-        if (thesis.getStudent() != null) {
-            thesisDTO.setStudentId(thesis.getStudent().getId());
-            thesisDTO.setStudentNumber(thesis.getStudent().getStudentNumber());
-
-            thesisDTO.setGrade(thesis.getGrade());
-        }
-
-        return thesisDTO;
+        return thesisMapper.toDefendedThesisDTO(thesis);
     }
 
     //Entity -> Student Thesis DTO
     private StudentThesisDTO convertToStudentThesisDTO(Thesis thesis) {
-        return modelMapper.map(thesis, StudentThesisDTO.class);
+        return thesisMapper.toStudentThesisDTO(thesis);
     }
 
 
@@ -0,0 +1,113 @@
+package com.example.graduation.service;
+
+import com.example.graduation.entity.RevokedToken;
+import com.example.graduation.repository.RevokedTokenRepository;
+import com.example.graduation.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//Revoked token ids (jti), checked on every request without touching the DB
+//Bloom filter answers "not revoked" for almost every token,
+//the exact map confirms the rare "maybe" so there are no false rejections
+//The revoked_tokens table is the source of truth - loaded at startup and re-read on a schedule
+//(picks up revocations made by other instances)
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    //jti -> expiry, only tokens that haven't expired yet
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    //Swapped as a whole on rebuild - readers never lock
+    private volatile BloomFilter filter;
+
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.revocation.expected-insertions:10000}") int expectedInsertions,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        Gauge.builder("jwt.revoked.tokens", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+
+    public boolean isRevoked(String jti) {
+        //Tokens issued before jti was added can't be revoked - they expire on their own
+        if (jti == null) {
+            return false;
+        }
+
+        return filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+
+    //Persist first so a restart or another instance sees it too
+    //True only for the call that inserted the row - the unique jti index decides between
+    //concurrent callers, including ones on other instances this filter hasn't heard of yet
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+
+        boolean inserted;
+        try {
+            revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+            inserted = true;
+        } catch (DataIntegrityViolationException e) {
+            //Already revoked (e.g. logout called twice, refresh token replayed)
+            inserted = false;
+        }
+
+        synchronized (this) {
+            revoked.put(jti, expiresAt);
+            filter.add(jti);
+        }
+        return inserted;
+    }
+
+
+    //Re-read the table, drop expired entries and start a fresh filter
+    //(a Bloom filter can't remove, so expired ids would otherwise pile up as false positives)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:60000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        Instant now = Instant.now();
+
+        revokedTokenRepository.deleteExpired(now);
+        List<RevokedToken> persisted = revokedTokenRepository.findByExpiresAtAfter(now);
+
+        //Same lock as revoke() - an id revoked mid-rebuild can't be left out of the new filter
+        synchronized (this) {
+            persisted.forEach(token -> revoked.putIfAbsent(token.getJti(), token.getExpiresAt()));
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+
+            this.filter = rebuilt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.graduation.service;
+
+import com.example.graduation.config.CacheConfig;
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Teacher;
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+//Keeps the userDetails cache in sync with the database - entity caches are Hibernate's own, see SecondLevelCacheConfig
+@Component
+@AllArgsConstructor
+public class UserCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+
+    //Runs after commit - a reader can't put stale data back before the change is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+
+        if (event.getEntity() instanceof User user) {
+            evict(CacheConfig.USER_DETAILS, user.getUsername());
+        }
+        else if (event.isAbout(Role.class)) {
+            //Roles are cached inside every principal
+            clear(CacheConfig.USER_DETAILS);
+        }
+        else if (event.isAbout(Student.class) || event.isAbout(Teacher.class)) {
+            //New Students/Teachers have no User yet
+            if (event.getChangeType() != ChangeType.CREATED) {
+                clear(CacheConfig.USER_DETAILS);
+            }
+        }
+    }
+
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
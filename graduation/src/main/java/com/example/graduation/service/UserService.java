@@ -1,22 +1,61 @@
 package com.example.graduation.service;
 
 import com.example.graduation.entity.User;
+import com.example.graduation.jwt.UserPrincipal;
 import com.example.graduation.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
 
 @Service
 @AllArgsConstructor
 public class UserService {
 
+    //Request attributes - resolved once, reused for the rest of the request
+    private static final String CURRENT_USER = UserService.class.getName() + ".CURRENT_USER";
+    private static final String CURRENT_PRINCIPAL = UserService.class.getName() + ".CURRENT_PRINCIPAL";
+
     private final UserRepository userRepository;
 
+
+    //Principal set by JwtRequestFilter - no query
+    //Other principals (e.g. @WithMockUser) are resolved from the users table once per request
+    public UserPrincipal getCurrentPrincipal() {
+        Object principal = getAuthentication().getPrincipal();
+
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        if (principal instanceof User user) {
+            return UserPrincipal.from(user);
+        }
+
+        return memoize(CURRENT_PRINCIPAL, () -> UserPrincipal.from(getCurrentUser()));
+    }
+
+    //Student ID straight from the principal - null if the user is not a student
+    public Long getCurrentStudentId() {
+        return getCurrentPrincipal().getStudentId();
+    }
+
+
+    //User entity - only for code that needs the managed entity (associations etc.)
+    //Loaded at most once per request
     public User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        Object principal = getAuthentication().getPrincipal();
+
+        if (principal instanceof User user) {
+            return user;
+        }
+
+        return memoize(CURRENT_USER, () -> userRepository.findByUsername(getAuthentication().getName())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
     }
 
     public User getUserById(Long id) {
@@ -28,4 +67,24 @@ public class UserService {
         return user.getStudent_owner() != null;
     }
 
-}
\ No newline at end of file
+
+    private Authentication getAuthentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    //Outside of a web request (tests, scheduled jobs) there is nothing to memoize into
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(String attribute, Supplier<T> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return loader.get();
+        }
+
+        T value = (T) attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = loader.get();
+            attributes.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.graduation.service;
+
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import com.example.graduation.repository.UserRepository;
+import com.example.graduation.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//In-memory membership filter of existing usernames
+//"definitely not a user" answers skip the users table - credential stuffing, forged tokens
+//A "maybe" always goes to the DB, so a false positive only costs the query we'd do anyway
+@Service
+public class UsernameRegistry {
+
+    private final UserRepository userRepository;
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    //null until the first load - everything passes through meanwhile
+    private volatile BloomFilter filter;
+
+    //Usernames added while a rebuild reads the table - replayed into the new filter
+    private List<String> addedDuringRebuild;
+
+    private final Counter absorbedCounter;
+    private final Counter passedCounter;
+    private final Counter falsePositiveCounter;
+
+
+    public UsernameRegistry(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.username-filter.expected-insertions:10000}") int expectedInsertions,
+                            @Value("${auth.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        //auth.username.lookups{result=absorbed|passed|false_positive}
+        this.absorbedCounter = lookupCounter(meterRegistry, "absorbed", "Unknown usernames rejected without a DB query");
+        this.passedCounter = lookupCounter(meterRegistry, "passed", "Lookups passed on to the DB");
+        this.falsePositiveCounter = lookupCounter(meterRegistry, "false_positive", "Passed lookups that found no user");
+    }
+
+
+    public boolean mightExist(String username) {
+        BloomFilter current = filter;
+
+        if (current != null && (username == null || !current.mightContain(username))) {
+            absorbedCounter.increment();
+            return false;
+        }
+
+        passedCounter.increment();
+        return true;
+    }
+
+    //DB miss after the filter said "maybe"
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+
+    //Fired on flush, before commit - a rolled back user only leaves a harmless false positive
+    //Renames add the new username, deletes are dropped on the next rebuild
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntity() instanceof User user && event.getChangeType() != ChangeType.DELETED) {
+            add(user.getUsername());
+        }
+    }
+
+    public synchronized void add(String username) {
+        if (username == null) {
+            return;
+        }
+        if (filter != null) {
+            filter.add(username);
+        }
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(username);
+        }
+    }
+
+
+    //Fresh filter from the users table - drops deleted and renamed usernames
+    //and picks up users the events never reported (another instance, SQL, seed scripts)
+    //Same short interval as the revocation filter - that's how long such a user can be rejected
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.username-filter.rebuild-interval-ms:60000}",
+            initialDelayString = "${auth.username-filter.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            List<String> usernames = userRepository.findAllUsernames();
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, usernames.size() * 2), falsePositiveRate);
+            usernames.forEach(rebuilt::add);
+
+            synchronized (this) {
+                addedDuringRebuild.forEach(rebuilt::add);
+                filter = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("auth.username.lookups")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
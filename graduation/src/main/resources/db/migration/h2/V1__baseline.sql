@@ -0,0 +1,53 @@
+-- Baseline - H2 version of db-dumps/init.sql (tests)
+
+CREATE TABLE roles (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  role_name varchar(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE student (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  first_name varchar(255) NOT NULL,
+  last_name varchar(255) NOT NULL,
+  student_number varchar(255) NOT NULL UNIQUE,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE teacher (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  first_name varchar(255) NOT NULL,
+  last_name varchar(255) NOT NULL,
+  teacher_number varchar(255) NOT NULL UNIQUE,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE thesis (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  grade enum ('GRADE_2_00','GRADE_3_00','GRADE_3_50','GRADE_4_00','GRADE_4_50','GRADE_5_00','GRADE_5_50','GRADE_6_00'),
+  status enum ('APPROVED','DEFENDED','REJECTED','SUBMITTED'),
+  title varchar(255) NOT NULL,
+  student_id bigint UNIQUE,
+  PRIMARY KEY (id),
+  CONSTRAINT FK8t44tl6u8m37oq8ta0tifth36 FOREIGN KEY (student_id) REFERENCES student (id)
+);
+
+CREATE TABLE users (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  password varchar(255),
+  username varchar(255),
+  student_id bigint UNIQUE,
+  teacher_id bigint UNIQUE,
+  PRIMARY KEY (id),
+  CONSTRAINT FK66u0l4m0257c11ti7io45xtc8 FOREIGN KEY (teacher_id) REFERENCES teacher (id),
+  CONSTRAINT FKldewcpqwssk9q67ebxw23fd3k FOREIGN KEY (student_id) REFERENCES student (id)
+);
+
+CREATE TABLE users_roles (
+  user_id bigint NOT NULL,
+  roles_id bigint NOT NULL,
+  CONSTRAINT FK2o0jvgh89lemvvo17cbqvdxaa FOREIGN KEY (user_id) REFERENCES users (id),
+  CONSTRAINT FKa62j07k5mhgifpp955h37ponj FOREIGN KEY (roles_id) REFERENCES roles (id)
+);
+
+INSERT INTO roles (id, role_name) VALUES (1, 'ROLE_TEACHER'), (2, 'ROLE_STUDENT');
@@ -0,0 +1,8 @@
+CREATE TABLE revoked_tokens (
+  id bigint GENERATED BY DEFAULT AS IDENTITY,
+  jti varchar(36) NOT NULL UNIQUE,
+  expires_at timestamp(6) with time zone NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
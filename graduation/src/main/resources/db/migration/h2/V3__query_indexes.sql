@@ -0,0 +1,14 @@
+-- Same indexes as mysql/V3
+
+CREATE UNIQUE INDEX ux_users_username ON users (username);
+
+CREATE INDEX ix_thesis_status_grade ON thesis (status, grade);
+CREATE INDEX ix_thesis_status_title ON thesis (status, title);
+
+CREATE INDEX ix_student_last_name ON student (last_name);
+CREATE INDEX ix_student_first_name ON student (first_name);
+CREATE INDEX ix_teacher_last_name ON teacher (last_name);
+CREATE INDEX ix_teacher_first_name ON teacher (first_name);
+
+-- No FULLTEXT in H2 - fulltext_score renders as FT_SCORE(title, query)
+CREATE ALIAS FT_SCORE FOR "com.example.graduation.repository.search.H2FullText.score";
@@ -0,0 +1,21 @@
+-- Thesis counts per Status / Grade - /api/theses/stats, maintained by ThesisCounters
+
+CREATE TABLE thesis_counter (
+  counter_name varchar(32) NOT NULL,
+  total bigint NOT NULL,
+  PRIMARY KEY (counter_name)
+);
+
+-- Starting values from the existing rows
+INSERT INTO thesis_counter SELECT 'STATUS:SUBMITTED', COUNT(*) FROM thesis WHERE status = 'SUBMITTED';
+INSERT INTO thesis_counter SELECT 'STATUS:APPROVED', COUNT(*) FROM thesis WHERE status = 'APPROVED';
+INSERT INTO thesis_counter SELECT 'STATUS:DEFENDED', COUNT(*) FROM thesis WHERE status = 'DEFENDED';
+INSERT INTO thesis_counter SELECT 'STATUS:REJECTED', COUNT(*) FROM thesis WHERE status = 'REJECTED';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_2_00', COUNT(*) FROM thesis WHERE grade = 'GRADE_2_00';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_3_00', COUNT(*) FROM thesis WHERE grade = 'GRADE_3_00';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_3_50', COUNT(*) FROM thesis WHERE grade = 'GRADE_3_50';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_4_00', COUNT(*) FROM thesis WHERE grade = 'GRADE_4_00';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_4_50', COUNT(*) FROM thesis WHERE grade = 'GRADE_4_50';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_5_00', COUNT(*) FROM thesis WHERE grade = 'GRADE_5_00';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_5_50', COUNT(*) FROM thesis WHERE grade = 'GRADE_5_50';
+INSERT INTO thesis_counter SELECT 'GRADE:GRADE_6_00', COUNT(*) FROM thesis WHERE grade = 'GRADE_6_00';
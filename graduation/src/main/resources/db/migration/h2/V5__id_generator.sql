@@ -0,0 +1,15 @@
+-- Ids come from blocks reserved in this table (PooledIdGenerator) instead of IDENTITY
+-- One row per entity table, next_val = next free id, starting above the highest id
+
+CREATE TABLE id_generator (
+  sequence_name varchar(255) NOT NULL,
+  next_val bigint,
+  PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generator SELECT 'roles', COALESCE(MAX(id), 0) + 1 FROM roles;
+INSERT INTO id_generator SELECT 'student', COALESCE(MAX(id), 0) + 1 FROM student;
+INSERT INTO id_generator SELECT 'teacher', COALESCE(MAX(id), 0) + 1 FROM teacher;
+INSERT INTO id_generator SELECT 'thesis', COALESCE(MAX(id), 0) + 1 FROM thesis;
+INSERT INTO id_generator SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+INSERT INTO id_generator SELECT 'revoked_tokens', COALESCE(MAX(id), 0) + 1 FROM revoked_tokens;
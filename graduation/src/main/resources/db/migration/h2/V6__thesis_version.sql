@@ -0,0 +1,3 @@
+-- Optimistic locking for Thesis (@Version) - every write bumps it, compare-and-set updates check it
+
+ALTER TABLE thesis ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Same index as mysql/V7
+
+CREATE UNIQUE INDEX ux_roles_role_name ON roles (role_name);
@@ -0,0 +1,61 @@
+-- Baseline - schema of db-dumps/init.sql
+-- Databases created from the dump are baselined at this version (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE roles (
+  id bigint NOT NULL AUTO_INCREMENT,
+  role_name varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE student (
+  id bigint NOT NULL AUTO_INCREMENT,
+  first_name varchar(255) NOT NULL,
+  last_name varchar(255) NOT NULL,
+  student_number varchar(255) NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UK17gskajnuiawdedks0b3lp8rx (student_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE teacher (
+  id bigint NOT NULL AUTO_INCREMENT,
+  first_name varchar(255) NOT NULL,
+  last_name varchar(255) NOT NULL,
+  teacher_number varchar(255) NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UKt10ptwk1wjb50yxm7eqbwqbej (teacher_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE thesis (
+  id bigint NOT NULL AUTO_INCREMENT,
+  grade enum('GRADE_2_00','GRADE_3_00','GRADE_3_50','GRADE_4_00','GRADE_4_50','GRADE_5_00','GRADE_5_50','GRADE_6_00') DEFAULT NULL,
+  status enum('APPROVED','DEFENDED','REJECTED','SUBMITTED') DEFAULT NULL,
+  title varchar(255) NOT NULL,
+  student_id bigint DEFAULT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UKfr3n3ok0wdtdjr5toa83qebjn (student_id),
+  CONSTRAINT FK8t44tl6u8m37oq8ta0tifth36 FOREIGN KEY (student_id) REFERENCES student (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+  id bigint NOT NULL AUTO_INCREMENT,
+  password varchar(255) DEFAULT NULL,
+  username varchar(255) DEFAULT NULL,
+  student_id bigint DEFAULT NULL,
+  teacher_id bigint DEFAULT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UKqh3otyipv2k9hqte4a1abcyhq (student_id),
+  UNIQUE KEY UKlid47e65qnntdq48exed4impn (teacher_id),
+  CONSTRAINT FK66u0l4m0257c11ti7io45xtc8 FOREIGN KEY (teacher_id) REFERENCES teacher (id),
+  CONSTRAINT FKldewcpqwssk9q67ebxw23fd3k FOREIGN KEY (student_id) REFERENCES student (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users_roles (
+  user_id bigint NOT NULL,
+  roles_id bigint NOT NULL,
+  KEY FKa62j07k5mhgifpp955h37ponj (roles_id),
+  KEY FK2o0jvgh89lemvvo17cbqvdxaa (user_id),
+  CONSTRAINT FK2o0jvgh89lemvvo17cbqvdxaa FOREIGN KEY (user_id) REFERENCES users (id),
+  CONSTRAINT FKa62j07k5mhgifpp955h37ponj FOREIGN KEY (roles_id) REFERENCES roles (id)
+) ENGINE=InnoDB;
+
+INSERT INTO roles VALUES (1,'ROLE_TEACHER'),(2,'ROLE_STUDENT');
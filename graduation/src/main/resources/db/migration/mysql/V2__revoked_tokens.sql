@@ -0,0 +1,12 @@
+-- Revoked JWT ids - IF NOT EXISTS, databases that ran with ddl-auto=update already have it
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+  id bigint NOT NULL AUTO_INCREMENT,
+  jti varchar(36) NOT NULL,
+  expires_at datetime(6) NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UK9mfwawnvm7caetg0ed8u6oehq (jti)
+) ENGINE=InnoDB;
+
+-- findByExpiresAtAfter (filter rebuild) and deleteExpired
+CREATE INDEX ix_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,24 @@
+-- Indexes for the hot query shapes
+
+-- findByUsername - every authenticated request on a cache miss, and login
+CREATE UNIQUE INDEX ux_users_username ON users (username);
+
+-- Thesis lists - status is always filtered, grade is a filter on defended, title and id are the sort fields
+-- No index on (status) alone - it is the leftmost column of both
+CREATE INDEX ix_thesis_status_grade ON thesis (status, grade);
+CREATE INDEX ix_thesis_status_title ON thesis (status, title);
+
+-- Student / teacher lists - sort fields (number is already unique)
+CREATE INDEX ix_student_last_name ON student (last_name);
+CREATE INDEX ix_student_first_name ON student (first_name);
+CREATE INDEX ix_teacher_last_name ON teacher (last_name);
+CREATE INDEX ix_teacher_first_name ON teacher (first_name);
+
+-- Title search (fulltext_score) - may already exist, it used to be created at startup
+-- No CREATE INDEX IF NOT EXISTS in MySQL
+SET @ft_exists = (SELECT COUNT(*) FROM information_schema.statistics
+                  WHERE table_schema = DATABASE() AND table_name = 'thesis' AND index_name = 'ft_thesis_title');
+SET @ft_ddl = IF(@ft_exists = 0, 'ALTER TABLE thesis ADD FULLTEXT INDEX ft_thesis_title (title)', 'DO 0');
+PREPARE ft_stmt FROM @ft_ddl;
+EXECUTE ft_stmt;
+DEALLOCATE PREPARE ft_stmt;
@@ -0,0 +1,32 @@
+-- Ids come from blocks reserved in this table (PooledIdGenerator) instead of AUTO_INCREMENT
+-- One row per entity table, next_val = next free id
+-- Each starts above the highest id and above the AUTO_INCREMENT counter, so no id handed out before comes back
+-- AUTO_INCREMENT stays on the id columns, it just isn't used any more - every insert brings its id
+
+-- Fresh AUTO_INCREMENT values, not the cached table statistics
+SET SESSION information_schema_stats_expiry = 0;
+
+CREATE TABLE id_generator (
+  sequence_name varchar(255) NOT NULL,
+  next_val bigint,
+  PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+INSERT INTO id_generator
+SELECT 'roles', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'roles'), 1)) FROM roles;
+INSERT INTO id_generator
+SELECT 'student', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'student'), 1)) FROM student;
+INSERT INTO id_generator
+SELECT 'teacher', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'teacher'), 1)) FROM teacher;
+INSERT INTO id_generator
+SELECT 'thesis', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'thesis'), 1)) FROM thesis;
+INSERT INTO id_generator
+SELECT 'users', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'users'), 1)) FROM users;
+INSERT INTO id_generator
+SELECT 'revoked_tokens', GREATEST(COALESCE(MAX(id), 0) + 1, COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'revoked_tokens'), 1)) FROM revoked_tokens;
@@ -0,0 +1,4 @@
+-- Role.roleName is the natural id (RoleRepository.findByRoleName) - it has to resolve to one row
+-- Fails if the table already holds the same name twice - merge those roles first
+
+CREATE UNIQUE INDEX ux_roles_role_name ON roles (role_name);
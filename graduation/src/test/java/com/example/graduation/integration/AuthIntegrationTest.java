@@ -0,0 +1,238 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.RevokedToken;
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.User;
+import com.example.graduation.jwt.JwtUtil;
+import com.example.graduation.repository.RevokedTokenRepository;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//No @Transactional - login runs on the login pool, not the test thread
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+
+    @BeforeEach
+    void setup() {
+        Role role = roleRepository.findByRoleName("ROLE_TEACHER");
+
+        //Stored with a lower cost than the configured one
+        User user = new User();
+        user.setUsername("teacher1");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("teacher1"));
+        user.setRoles(List.of(role));
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAll();
+    }
+
+
+    //Login returns a token that the filter accepts
+    @Test
+    void loginTest() throws Exception {
+        String token = login("teacher1", "teacher1")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/students")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loginWrongPasswordTest() throws Exception {
+        login("teacher1", "wrong")
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Incorrect username or password"));
+    }
+
+    //Hash with the old cost is upgraded on successful login
+    @Test
+    void loginRehashesPasswordTest() throws Exception {
+        login("teacher1", "teacher1").andExpect(status().isOk());
+
+        String hash = userRepository.findByUsername("teacher1").orElseThrow().getPassword();
+
+        assertTrue(hash.startsWith("$2a$10$"), hash);
+        assertTrue(new BCryptPasswordEncoder().matches("teacher1", hash));
+    }
+
+
+    //Refresh token is rotated - the used one stops working
+    @Test
+    void refreshRotatesTokenTest() throws Exception {
+        Cookie refreshCookie = login("teacher1", "teacher1")
+                .andExpect(cookie().httpOnly("refresh_token", true))
+                .andReturn().getResponse().getCookie("refresh_token");
+
+        MvcResult refreshed = mockMvc.perform(post("/auth/refresh").cookie(refreshCookie))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        mockMvc.perform(get("/api/students")
+                        .header("Authorization", "Bearer " + refreshed.getResponse().getContentAsString()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/refresh").cookie(refreshCookie))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/auth/refresh").cookie(refreshed.getResponse().getCookie("refresh_token")))
+                .andExpect(status().isOk());
+    }
+
+    //Same refresh token sent twice at once - exactly one rotation wins, the other is 401
+    @Test
+    void refreshSameTokenTwiceTest() throws Exception {
+        Cookie refreshCookie = login("teacher1", "teacher1")
+                .andReturn().getResponse().getCookie("refresh_token");
+
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Integer> refresh = () -> {
+            start.await();
+            return mockMvc.perform(post("/auth/refresh").cookie(refreshCookie))
+                    .andReturn().getResponse().getStatus();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(refresh);
+            Future<Integer> second = executor.submit(refresh);
+            start.countDown();
+
+            List<Integer> statuses = List.of(first.get(), second.get());
+            assertTrue(statuses.contains(200), statuses.toString());
+            assertTrue(statuses.contains(401), statuses.toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    //Refreshed on another instance - this one's filter hasn't seen the revocation yet
+    @Test
+    void refreshRevokedElsewhereTest() throws Exception {
+        Cookie refreshCookie = login("teacher1", "teacher1")
+                .andReturn().getResponse().getCookie("refresh_token");
+
+        Claims claims = jwtUtil.extractAllClaims(refreshCookie.getValue());
+        revokedTokenRepository.save(new RevokedToken(claims.getId(), claims.getExpiration().toInstant()));
+
+        mockMvc.perform(post("/auth/refresh").cookie(refreshCookie))
+                .andExpect(status().isUnauthorized());
+    }
+
+    //Refresh token can't be used as an access token
+    @Test
+    void refreshTokenAsBearerTest() throws Exception {
+        String refreshToken = login("teacher1", "teacher1")
+                .andReturn().getResponse().getCookie("refresh_token").getValue();
+
+        mockMvc.perform(get("/api/students")
+                        .header("Authorization", "Bearer " + refreshToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    //Logout revokes both tokens
+    @Test
+    void logoutRevokesTokensTest() throws Exception {
+        MvcResult loggedIn = login("teacher1", "teacher1").andReturn();
+        String token = loggedIn.getResponse().getContentAsString();
+        Cookie refreshCookie = loggedIn.getResponse().getCookie("refresh_token");
+
+        mockMvc.perform(get("/api/students")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer " + token)
+                        .cookie(refreshCookie))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/students")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/auth/refresh").cookie(refreshCookie))
+                .andExpect(status().isUnauthorized());
+    }
+
+
+    //Only health is public - metrics need a token
+    @Test
+    void actuatorMetricsRequireTokenTest() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+
+        String token = login("teacher1", "teacher1")
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+
+    private ResultActions login(String username, String password) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", username, "password", password))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(asyncResult));
+    }
+}
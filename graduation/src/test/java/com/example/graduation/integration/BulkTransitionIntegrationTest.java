@@ -0,0 +1,165 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.service.ThesisCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//thesis.bulk.chunk-size=2 in the test profile - every request below spans several UPDATEs
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class BulkTransitionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    @Autowired
+    private ThesisCounters thesisCounters;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private List<Thesis> submitted;
+    private Thesis approved;
+
+
+    @BeforeEach
+    void setup() {
+        submitted = new ArrayList<>();
+        submitted.add(createThesis("Robotics in farming", ThesisStatus.SUBMITTED));
+        submitted.add(createThesis("Robotics in surgery", ThesisStatus.SUBMITTED));
+        submitted.add(createThesis("Compilers", ThesisStatus.SUBMITTED));
+        approved = createThesis("Robotics in space", ThesisStatus.APPROVED);
+
+        thesisCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+    }
+
+
+    //Outcomes in request order, duplicates once - counters move with the rows
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void approveByIdsTest() throws Exception {
+        long approvedBefore = thesisCounters.getStats().getByStatus().get(ThesisStatus.APPROVED);
+
+        String body = String.format("{\"ids\":[%d,%d,%d,%d,999999,%d],\"targetStatus\":\"APPROVED\"}",
+                submitted.get(0).getId(), submitted.get(2).getId(), approved.getId(), submitted.get(1).getId(),
+                submitted.get(0).getId());
+
+        mockMvc.perform(post("/api/theses/submitted/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.outcomes.length()").value(5))
+                .andExpect(jsonPath("$.outcomes[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.outcomes[1].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[2].id").value(approved.getId()))
+                .andExpect(jsonPath("$.outcomes[2].outcome").value("WRONG_STATUS"))
+                .andExpect(jsonPath("$.outcomes[2].status").value("APPROVED"))
+                .andExpect(jsonPath("$.outcomes[3].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[4].id").value(999999))
+                .andExpect(jsonPath("$.outcomes[4].outcome").value("NOT_FOUND"));
+
+        assertTrue(thesisRepository.findAll().stream().allMatch(t -> t.getStatus() == ThesisStatus.APPROVED));
+        assertEquals(approvedBefore + 3, thesisCounters.getStats().getByStatus().get(ThesisStatus.APPROVED));
+    }
+
+    //One UPDATED event per changed thesis, as the entity listener would send - the analytics snapshot follows it
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void approveSendsEntityEventsTest() throws Exception {
+        String body = String.format("{\"ids\":[%d,%d,%d],\"targetStatus\":\"APPROVED\"}",
+                submitted.get(0).getId(), submitted.get(1).getId(), approved.getId());
+
+        mockMvc.perform(post("/api/theses/submitted/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        List<Thesis> published = events.stream(EntityChangedEvent.class)
+                .filter(event -> event.getChangeType() == ChangeType.UPDATED && event.isAbout(Thesis.class))
+                .map(event -> (Thesis) event.getEntity())
+                .toList();
+
+        assertEquals(Set.of(submitted.get(0).getId(), submitted.get(1).getId()),
+                published.stream().map(Thesis::getId).collect(Collectors.toSet()));
+        assertEquals(2, published.size());
+        //State as written by the UPDATE, version included
+        assertTrue(published.stream().allMatch(t -> t.getStatus() == ThesisStatus.APPROVED));
+        assertTrue(published.stream().allMatch(t -> t.getVersion() == submitted.get(0).getVersion() + 1));
+    }
+
+    //Only submitted theses match a filter
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void rejectByFilterTest() throws Exception {
+        mockMvc.perform(post("/api/theses/submitted/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"title\":\"robotics\"},\"targetStatus\":\"REJECTED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.outcomes[0].id").value(submitted.get(0).getId()))
+                .andExpect(jsonPath("$.outcomes[1].id").value(submitted.get(1).getId()));
+
+        assertEquals(ThesisStatus.REJECTED, thesisRepository.findById(submitted.get(1).getId()).orElseThrow().getStatus());
+        assertEquals(ThesisStatus.SUBMITTED, thesisRepository.findById(submitted.get(2).getId()).orElseThrow().getStatus());
+        assertEquals(ThesisStatus.APPROVED, thesisRepository.findById(approved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void invalidRequestTest() throws Exception {
+        mockMvc.perform(post("/api/theses/submitted/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"targetStatus\":\"DEFENDED\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/theses/submitted/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"filter\":{},\"targetStatus\":\"APPROVED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    private Thesis createThesis(String title, ThesisStatus status) {
+        Thesis thesis = new Thesis();
+        thesis.setTitle(title);
+        thesis.setStatus(status);
+        return thesisRepository.save(thesis);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.analytics.ThesisAnalytics;
+import com.example.graduation.dto.thesis.ThesisStatsDTO;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.service.ThesisCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//thesis.bulk.chunk-size=2 in the test profile - three grades are two JDBC batches
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DefenseGradesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    @Autowired
+    private ThesisCounters thesisCounters;
+
+    @Autowired
+    private ThesisAnalytics thesisAnalytics;
+
+    private Thesis first;
+    private Thesis second;
+    private Thesis third;
+    private Thesis submitted;
+
+
+    @BeforeEach
+    void setup() {
+        first = createThesis("Wind farms", ThesisStatus.APPROVED);
+        second = createThesis("Solar panels", ThesisStatus.APPROVED);
+        third = createThesis("Tidal power", ThesisStatus.APPROVED);
+        submitted = createThesis("Geothermal", ThesisStatus.SUBMITTED);
+
+        thesisCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+    }
+
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void defendFromJsonTest() throws Exception {
+        String body = String.format("[{\"id\":%d,\"grade\":\"5.50\"},{\"id\":%d,\"grade\":\"GRADE_6_00\"},{\"id\":%d,\"grade\":\"3\"}]",
+                first.getId(), second.getId(), third.getId());
+
+        mockMvc.perform(post("/api/theses/approved/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetStatus").value("DEFENDED"))
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.outcomes[0].id").value(first.getId()));
+
+        assertEquals(Grade.GRADE_5_50, thesisRepository.findById(first.getId()).orElseThrow().getGrade());
+        assertEquals(Grade.GRADE_6_00, thesisRepository.findById(second.getId()).orElseThrow().getGrade());
+        assertEquals(ThesisStatus.DEFENDED, thesisRepository.findById(third.getId()).orElseThrow().getStatus());
+
+        ThesisStatsDTO stats = thesisCounters.getStats();
+        assertEquals(0, stats.getByStatus().get(ThesisStatus.APPROVED));
+        assertEquals(3, stats.getByStatus().get(ThesisStatus.DEFENDED));
+        assertEquals(1, stats.getByGrade().get(Grade.GRADE_3_00));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void defendFromCsvTest() throws Exception {
+        String csv = "grade,id\r\n5.00," + first.getId() + "\r\n4.50," + second.getId() + "\r\n";
+
+        mockMvc.perform(post("/api/theses/approved/defend")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertEquals(Grade.GRADE_4_50, thesisRepository.findById(second.getId()).orElseThrow().getGrade());
+        assertEquals(ThesisStatus.APPROVED, thesisRepository.findById(third.getId()).orElseThrow().getStatus());
+    }
+
+    //The batch skips the entity listener - the analytics snapshot follows the events sent for it
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void defendUpdatesAnalyticsTest() throws Exception {
+        thesisAnalytics.rebuild();
+
+        String body = String.format("[{\"id\":%d,\"grade\":\"6\"},{\"id\":%d,\"grade\":\"4\"},{\"id\":%d,\"grade\":\"5\"}]",
+                first.getId(), second.getId(), third.getId());
+
+        mockMvc.perform(post("/api/theses/approved/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/analytics/grades"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overall.graded").value(3))
+                .andExpect(jsonPath("$.overall.mean").value(5.0))
+                .andExpect(jsonPath("$.overall.distribution.GRADE_6_00").value(1));
+    }
+
+    //Every bad row is reported and the good ones are not saved either
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void invalidSheetSavesNothingTest() throws Exception {
+        String body = String.format("[{\"id\":%d,\"grade\":\"5.50\"},{\"id\":%d,\"grade\":\"7\"},{\"id\":%d,\"grade\":\"6\"},{\"id\":%d,\"grade\":\"6\"}]",
+                first.getId(), second.getId(), submitted.getId(), first.getId());
+
+        mockMvc.perform(post("/api/theses/approved/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Invalid grade: 7"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Thesis is SUBMITTED, not APPROVED"))
+                .andExpect(jsonPath("$.errors[2].row").value(4));
+
+        assertEquals(ThesisStatus.APPROVED, thesisRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(3, thesisCounters.getStats().getByStatus().get(ThesisStatus.APPROVED));
+    }
+
+
+    private Thesis createThesis(String title, ThesisStatus status) {
+        Thesis thesis = new Thesis();
+        thesis.setTitle(title);
+        thesis.setStatus(status);
+        return thesisRepository.save(thesis);
+    }
+}
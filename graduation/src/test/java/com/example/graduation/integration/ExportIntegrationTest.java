@@ -0,0 +1,113 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Export bodies are written asynchronously - asyncDispatch waits for them
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+
+    @BeforeEach
+    void setup() {
+        createThesis("F300001", "Compilers, parsers and \"grammars\"", ThesisStatus.DEFENDED, Grade.GRADE_5_50);
+        createThesis("F300002", "Networks", ThesisStatus.DEFENDED, Grade.GRADE_4_00);
+        createThesis("F300003", "Databases", ThesisStatus.APPROVED, null);
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void defendedThesesCsvTest() throws Exception {
+        String body = export("/api/theses/export?status=DEFENDED&format=CSV", "theses.csv");
+        List<String> lines = body.lines().toList();
+
+        assertEquals("id,title,status,studentId,studentNumber,grade", lines.get(0));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).contains(",\"Compilers, parsers and \"\"grammars\"\"\",DEFENDED,"));
+        assertTrue(lines.get(1).endsWith(",F300001,5.50"));
+        assertTrue(lines.get(2).endsWith(",F300002,4.00"));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void studentsNdjsonWithFilterTest() throws Exception {
+        String body = export("/api/students/export?studentNumber=F300002&format=NDJSON", "students.ndjson");
+        List<String> lines = body.lines().toList();
+
+        assertEquals(1, lines.size());
+        JsonNode student = objectMapper.readTree(lines.get(0));
+        assertEquals("F300002", student.get("studentNumber").asText());
+    }
+
+
+    private String export(String url, String filename) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(filename)))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private void createThesis(String studentNumber, String title, ThesisStatus status, Grade grade) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setStudentNumber(studentNumber);
+        student = studentRepository.save(student);
+
+        Thesis thesis = new Thesis();
+        thesis.setTitle(title);
+        thesis.setStatus(status);
+        thesis.setGrade(grade);
+        thesis.setStudent(student);
+        thesisRepository.save(thesis);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.analytics.ThesisAnalytics;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Snapshot loaded from the tables, then kept current by the write events
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GradeAnalyticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ThesisAnalytics thesisAnalytics;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+
+    @BeforeEach
+    void setup() {
+        defended("F23001", Grade.GRADE_4_00);
+        defended("F24001", Grade.GRADE_6_00);
+
+        thesisAnalytics.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void gradesByCohortTest() throws Exception {
+        //Written after the rebuild - arrives through the event
+        defended("F24002", Grade.GRADE_5_00);
+
+        mockMvc.perform(get("/api/analytics/grades").param("cohortPrefixLength", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overall.graded").value(3))
+                .andExpect(jsonPath("$.overall.mean").value(5.0))
+                .andExpect(jsonPath("$.byCohort.F23.graded").value(1))
+                .andExpect(jsonPath("$.byCohort.F24.median").value(5.0))
+                .andExpect(jsonPath("$.byCohort.F24.distribution.GRADE_6_00").value(1));
+    }
+
+
+    private void defended(String studentNumber, Grade grade) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setStudentNumber(studentNumber);
+        student = studentRepository.save(student);
+
+        Thesis thesis = new Thesis();
+        thesis.setTitle("Thesis " + studentNumber);
+        thesis.setStatus(ThesisStatus.DEFENDED);
+        thesis.setGrade(grade);
+        thesis.setStudent(student);
+        thesisRepository.save(thesis);
+    }
+}
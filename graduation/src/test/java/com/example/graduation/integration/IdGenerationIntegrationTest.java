@@ -0,0 +1,92 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Student;
+import com.example.graduation.repository.IdBlockRepository;
+import com.example.graduation.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Ids from the id_generator table - blocks of graduation.id.allocation_size (50), inserts in JDBC batches of 50
+@SpringBootTest
+@ActiveProfiles("test")
+class IdGenerationIntegrationTest {
+
+    private static final int STUDENTS = 120;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private IdBlockRepository idBlockRepository;
+
+
+    @AfterEach
+    void cleanup() {
+        studentRepository.deleteAll();
+    }
+
+
+    //IDENTITY took one INSERT per row - now 3 batches plus at most 3 block reservations (SELECT + UPDATE)
+    @Test
+    void insertsAreBatchedTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Student> saved = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Student> students = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                students.add(student(String.format("F%06d", 700000 + i)));
+            }
+            return studentRepository.saveAll(students);
+        });
+
+        assertTrue(statistics.getPrepareStatementCount() <= 9,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(STUDENTS, saved.stream().map(Student::getId).distinct().count());
+        assertEquals(STUDENTS, studentRepository.count());
+    }
+
+    //JDBC writers (CSV import) and Hibernate take blocks from the same row - they never overlap
+    @Test
+    void reservedBlockIsNotReusedTest() {
+        long first = idBlockRepository.reserve("student", 200);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(studentRepository.save(student(String.format("F%06d", 800000 + i))).getId());
+        }
+
+        assertEquals(60, ids.size());
+        assertTrue(ids.stream().noneMatch(id -> id >= first && id < first + 200));
+    }
+
+
+    private static Student student(String number) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setStudentNumber(number);
+        return student;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Student;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Imports run in the background - the tests poll the job until it finishes
+//import.chunk-size=2 in the test profile, so every file spans several batches
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+
+    @BeforeEach
+    void setup() {
+        Student existing = new Student();
+        existing.setFirstName("Existing");
+        existing.setLastName("Student");
+        existing.setStudentNumber("F400009");
+        studentRepository.save(existing);
+    }
+
+    @AfterEach
+    void cleanup() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+    }
+
+
+    //Good rows are committed, bad ones reported with their line - columns in any order
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void importStudentsTest() throws Exception {
+        String csv = "studentNumber,lastName,firstName\r\n"
+                + "F400001,Ivanov,Ivan\r\n"
+                + "F400002,\"Petrova, Jr.\",Maria\r\n"
+                + "12,Short,Number\r\n"
+                + "F400001,Again,Ivan\r\n"
+                + "\r\n"
+                + "F400009,Already,There\r\n"
+                + "F400003,Georgiev,\"Georgi\"\r\n"
+                + "F400004,,Nameless\r\n";
+
+        JsonNode job = runImport("students", csv);
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(7, job.get("rowsRead").asLong());
+        assertEquals(3, job.get("imported").asLong());
+        assertEquals(4, job.get("failed").asLong());
+
+        JsonNode errors = job.get("errors");
+        assertEquals(4, errors.size());
+        assertEquals(4, errors.get(0).get("line").asLong());
+        assertTrue(errors.get(0).get("message").asText().contains("Invalid Student Number"));
+        assertEquals(5, errors.get(1).get("line").asLong());
+        assertEquals("Duplicate number in the file", errors.get(1).get("message").asText());
+        assertEquals(7, errors.get(2).get("line").asLong());
+        assertEquals("Number already exists", errors.get(2).get("message").asText());
+        assertEquals(9, errors.get(3).get("line").asLong());
+        assertEquals("Last Name cannot be empty", errors.get(3).get("message").asText());
+
+        assertEquals(4, studentRepository.count());
+        assertEquals("Petrova, Jr.", studentRepository.findAll().stream()
+                .filter(student -> student.getStudentNumber().equals("F400002"))
+                .findFirst().orElseThrow().getLastName());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void importTeachersTest() throws Exception {
+        JsonNode job = runImport("teachers", "firstName,lastName,teacherNumber\nAna,Dimova,T50001\nBoris,Kolev,T50002\n");
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(2, job.get("imported").asLong());
+        assertEquals(2, teacherRepository.count());
+
+        //Not visible as a student import
+        mockMvc.perform(get("/api/students/import/" + job.get("id").asText()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void missingHeaderColumnTest() throws Exception {
+        mockMvc.perform(multipart("/api/teachers/import").file(csvFile("firstName,lastName,studentNumber\nA,B,F40000\n")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("teacherNumber")));
+    }
+
+
+    private JsonNode runImport(String resource, String csv) throws Exception {
+        String body = mockMvc.perform(multipart("/api/" + resource + "/import").file(csvFile(csv)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(body).get("id").asText();
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/" + resource + "/import/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import did not finish");
+    }
+
+    private static MockMultipartFile csvFile(String csv) {
+        return new MockMultipartFile("file", "import.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
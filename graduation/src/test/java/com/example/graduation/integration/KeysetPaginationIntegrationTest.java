@@ -0,0 +1,179 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Student;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.projection.DtoProjectionQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Cursor mode of the list endpoints - walks a whole list page by page
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationIntegrationTest {
+
+    private static final int STUDENTS = 11;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private List<Student> students;
+
+
+    //Only three last names - most rows tie on the sort key and need the id tiebreaker
+    @BeforeEach
+    void setup() {
+        students = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i++) {
+            Student student = new Student();
+            student.setFirstName("First" + i);
+            student.setLastName("Last" + (i % 3));
+            student.setStudentNumber(String.format("F%06d", i));
+            students.add(studentRepository.save(student));
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        studentRepository.deleteAll();
+    }
+
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void walkStudentsByLastNameTest() throws Exception {
+        List<Long> expected = students.stream()
+                .sorted(Comparator.comparing(Student::getLastName).reversed()
+                        .thenComparing(Student::getId, Comparator.reverseOrder()))
+                .map(Student::getId)
+                .toList();
+
+        assertEquals(expected, walk("lastName", "desc"));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void walkStudentsByIdTest() throws Exception {
+        List<Long> expected = students.stream().map(Student::getId).toList();
+
+        assertEquals(expected, walk("id", "asc"));
+    }
+
+    //Each page is one SELECT - no count, no OFFSET
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void cursorPageStatementCountTest() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/students").param("cursor", "").param("pageSize", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void filterIsAppliedTest() throws Exception {
+        mockMvc.perform(get("/api/students")
+                        .param("cursor", "")
+                        .param("lastName", "Last1")
+                        .param("sortField", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(4))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void invalidCursorTest() throws Exception {
+        mockMvc.perform(get("/api/students").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/theses/approved").param("cursor", "").param("sortField", "grade"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("grade")));
+    }
+
+    //Page size below 1 is a 400 on every list, above MAX_CURSOR_PAGE_SIZE only on cursor lists
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void invalidPageSizeTest() throws Exception {
+        for (String pageSize : List.of("0", "-1")) {
+            mockMvc.perform(get("/api/students").param("cursor", "").param("pageSize", pageSize))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(get("/api/theses/submitted").param("pageSize", pageSize).param("countMode", "NONE"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        String overCursorMax = String.valueOf(DtoProjectionQuery.MAX_CURSOR_PAGE_SIZE + 1);
+        mockMvc.perform(get("/api/students").param("cursor", "").param("pageSize", overCursorMax))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("pageSize")));
+
+        //Offset lists take large pages as before - Integer.MAX_VALUE included, the extra NONE row can't overflow
+        for (String pageSize : List.of(overCursorMax, String.valueOf(Integer.MAX_VALUE))) {
+            mockMvc.perform(get("/api/students").param("pageSize", pageSize).param("countMode", "NONE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(STUDENTS));
+        }
+    }
+
+
+    private List<Long> walk(String sortField, String sortDir) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+
+        while (cursor != null) {
+            String body = mockMvc.perform(get("/api/students")
+                            .param("cursor", cursor)
+                            .param("pageSize", "3")
+                            .param("sortField", sortField)
+                            .param("sortDir", sortDir))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(row -> ids.add(row.get("id").asLong()));
+
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+        }
+
+        return ids;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.config.SecondLevelCacheConfig;
+import com.example.graduation.dto.teacher.UpdateTeacherDTO;
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Teacher;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//No @Transactional - every repository call below runs in its own session, so only the
+//second-level cache can save a query
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private Statistics statistics;
+
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanup() {
+        teacherRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+
+    //Name -> id and id -> Role both from the cache - no statement at all
+    //Seeded role (V1) - warmed by the first lookup
+    @Test
+    void roleNaturalIdLookupTest() {
+        Role role = roleRepository.findByRoleName("ROLE_TEACHER");
+        assertNotNull(role);
+
+        statistics.clear();
+        assertEquals(role.getId(), roleRepository.findByRoleName("ROLE_TEACHER").getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertNull(roleRepository.findByRoleName("ROLE_MISSING"));
+    }
+
+    //Cache hit and no statement - nothing on Student is loaded eagerly behind the cached entry
+    @Test
+    void studentByIdFromCacheTest() {
+        Student student = new Student();
+        student.setFirstName("Cached");
+        student.setLastName("Student");
+        student.setStudentNumber("F700001");
+        student = studentRepository.save(student);
+
+        statistics.clear();
+        assertEquals("F700001", studentRepository.findById(student.getId()).orElseThrow().getStudentNumber());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.STUDENT).getHitCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.STUDENT).getMissCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    //Same for Teacher - no inverse profile association to load behind the cached entry
+    @Test
+    void teacherByIdFromCacheTest() {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName("Cached");
+        teacher.setLastName("Teacher");
+        teacher.setTeacherNumber("T70002");
+        teacher = teacherRepository.save(teacher);
+
+        statistics.clear();
+        assertEquals("T70002", teacherRepository.findById(teacher.getId()).orElseThrow().getTeacherNumber());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TEACHER).getHitCount());
+        assertEquals(0, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.TEACHER).getMissCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    //Update and delete go through TeacherService - the cached entry follows them
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void teacherUpdateAndDeleteTest() throws Exception {
+        Teacher teacher = new Teacher();
+        teacher.setFirstName("Old");
+        teacher.setLastName("Name");
+        teacher.setTeacherNumber("T70001");
+        teacher = teacherRepository.save(teacher);
+
+        //Warm
+        assertEquals("Old", teacherRepository.findById(teacher.getId()).orElseThrow().getFirstName());
+
+        UpdateTeacherDTO updateDTO = new UpdateTeacherDTO();
+        updateDTO.setFirstName("New");
+        updateDTO.setLastName("Name");
+
+        mockMvc.perform(put("/api/teachers/" + teacher.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        assertEquals("New", teacherRepository.findById(teacher.getId()).orElseThrow().getFirstName());
+
+        mockMvc.perform(delete("/api/teachers/" + teacher.getId()))
+                .andExpect(status().isNoContent());
+
+        assertTrue(teacherRepository.findById(teacher.getId()).isEmpty());
+    }
+
+    //Region stats next to the Spring caches - cache_gets{cache="role", cache.manager="hibernate"}
+    @Test
+    void regionMetricsTest() {
+        roleRepository.findByRoleName("ROLE_STUDENT");
+        roleRepository.findByRoleName("ROLE_STUDENT");
+
+        assertNotNull(meterRegistry.find("cache.gets")
+                .tags("cache", SecondLevelCacheConfig.ROLE, "cache.manager", "hibernate", "result", "hit")
+                .functionCounter());
+        assertNotNull(meterRegistry.find("cache.size")
+                .tags("cache", SecondLevelCacheConfig.STUDENT, "cache.manager", "hibernate")
+                .gauge());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Real token through JwtRequestFilter - counts the statements a student request runs
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentThesisQueryIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+
+    @BeforeEach
+    void setup() {
+        Role role = roleRepository.findByRoleName("ROLE_STUDENT");
+
+        Student student = new Student();
+        student.setFirstName("John");
+        student.setLastName("Doe");
+        student.setStudentNumber("F222222");
+        student = studentRepository.save(student);
+
+        User user = new User();
+        user.setUsername("student1");
+        user.setPassword(passwordEncoder.encode("student1"));
+        user.setRoles(List.of(role));
+        user.setStudent_owner(student);
+        userRepository.save(user);
+
+        Thesis thesis = new Thesis();
+        thesis.setTitle("My Thesis");
+        thesis.setStatus(ThesisStatus.SUBMITTED);
+        thesis.setStudent(student);
+        thesisRepository.save(thesis);
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+
+    //Principal comes from the filter, only the thesis itself is queried
+    @Test
+    void ownThesisSingleQueryTest() throws Exception {
+        String token = login("student1", "student1");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/theses/student/my-thesis")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("My Thesis"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+
+    private String login(String username, String password) throws Exception {
+        MvcResult asyncResult = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("username", username, "password", password))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
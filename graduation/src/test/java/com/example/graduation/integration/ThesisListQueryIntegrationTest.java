@@ -0,0 +1,188 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//No @Transactional - entities must not be in the persistence context already
+//A page costs the select and the count, no matter the page size
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ThesisListQueryIntegrationTest {
+
+    private static final int STUDENTS_PER_STATUS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    private Statistics statistics;
+
+
+    @BeforeEach
+    void setup() {
+        Role role = roleRepository.findByRoleName("ROLE_STUDENT");
+
+        int number = 0;
+        for (ThesisStatus status : List.of(ThesisStatus.SUBMITTED, ThesisStatus.APPROVED, ThesisStatus.DEFENDED)) {
+            for (int i = 0; i < STUDENTS_PER_STATUS; i++) {
+                number++;
+                createStudentWithThesis(number, status, role);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+    }
+
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void submittedPageStatementCountTest() throws Exception {
+        mockMvc.perform(get("/api/theses/submitted").param("pageSize", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].studentNumber").exists())
+                .andExpect(jsonPath("$.totalElements").value(STUDENTS_PER_STATUS));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void approvedPageStatementCountTest() throws Exception {
+        mockMvc.perform(get("/api/theses/approved").param("pageSize", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    //Student number filter joins the same table that is fetched
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void defendedFilteredStatementCountTest() throws Exception {
+        mockMvc.perform(get("/api/theses/defended")
+                        .param("studentNumber", "F000011")
+                        .param("sortField", "title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].studentNumber").value("F000011"))
+                .andExpect(jsonPath("$.content[0].grade").value("GRADE_6_00"));
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "single page - no count query needed");
+    }
+
+    //Slice - hasNext from one extra row, no count
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void submittedSliceSkipsCountTest() throws Exception {
+        mockMvc.perform(get("/api/theses/submitted").param("pageSize", "3").param("countMode", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    //Counted once per filter, the next pages reuse it - until a thesis is written
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void approvedCachedTotalTest() throws Exception {
+        mockMvc.perform(get("/api/theses/approved").param("pageSize", "3").param("countMode", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(STUDENTS_PER_STATUS));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/theses/approved").param("pageSize", "3").param("pageNumber", "1")
+                        .param("countMode", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(STUDENTS_PER_STATUS));
+        assertEquals(1, statistics.getPrepareStatementCount(), "total comes from the cache");
+
+        Thesis extra = new Thesis();
+        extra.setTitle("Extra");
+        extra.setStatus(ThesisStatus.APPROVED);
+        thesisRepository.save(extra);
+
+        mockMvc.perform(get("/api/theses/approved").param("pageSize", "3").param("countMode", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(STUDENTS_PER_STATUS + 1));
+    }
+
+
+    private void createStudentWithThesis(int number, ThesisStatus status, Role role) {
+        String studentNumber = String.format("F%06d", number);
+
+        Student student = new Student();
+        student.setFirstName("First" + number);
+        student.setLastName("Last" + number);
+        student.setStudentNumber(studentNumber);
+        student = studentRepository.save(student);
+
+        User user = new User();
+        user.setUsername("student" + number);
+        user.setPassword("hash");
+        user.setRoles(List.of(role));
+        user.setStudent_owner(student);
+        userRepository.save(user);
+
+        Thesis thesis = new Thesis();
+        thesis.setTitle("Thesis " + number);
+        thesis.setStatus(status);
+        thesis.setStudent(student);
+        if (status == ThesisStatus.DEFENDED) {
+            thesis.setGrade(Grade.GRADE_6_00);
+        }
+        thesisRepository.save(thesis);
+    }
+}
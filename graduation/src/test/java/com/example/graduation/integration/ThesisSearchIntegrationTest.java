@@ -0,0 +1,87 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.ThesisRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//H2 runs the FT_SCORE fallback - same matching and ranking rules as MATCH ... AGAINST in boolean mode
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ThesisSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    private Thesis planning;
+    private Thesis survey;
+
+
+    @BeforeEach
+    void setup() {
+        planning = createThesis("Machine learning for graduation planning", ThesisStatus.SUBMITTED);
+        survey = createThesis("Learning machines: a survey of machine translation", ThesisStatus.APPROVED);
+        createThesis("Database indexing", ThesisStatus.SUBMITTED);
+        createThesis("Deep learning", ThesisStatus.DEFENDED);
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+    }
+
+
+    //Every word required, more matching words rank higher
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void searchRanksByRelevanceTest() throws Exception {
+        mockMvc.perform(get("/api/theses/search").param("q", "machine learning"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(survey.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(planning.getId()))
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void searchWithStatusFilterTest() throws Exception {
+        mockMvc.perform(get("/api/theses/search").param("q", "learn").param("status", "SUBMITTED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(planning.getId()))
+                .andExpect(jsonPath("$.content[0].status").value("SUBMITTED"));
+    }
+
+    //Operators typed by the user are not passed through
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void searchIgnoresBooleanOperatorsTest() throws Exception {
+        mockMvc.perform(get("/api/theses/search").param("q", "-deep +\"indexing\"*"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+
+    private Thesis createThesis(String title, ThesisStatus status) {
+        Thesis thesis = new Thesis();
+        thesis.setTitle(title);
+        thesis.setStatus(status);
+        return thesisRepository.save(thesis);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.UserRepository;
+import com.example.graduation.service.ThesisCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Counters follow the writes made through ThesisService, reconcile fixes the rest
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ThesisStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    @Autowired
+    private ThesisCounters thesisCounters;
+
+    private Student first;
+    private Student second;
+
+
+    @BeforeEach
+    void setup() {
+        Role role = roleRepository.findByRoleName("ROLE_TEACHER");
+
+        User teacher = new User();
+        teacher.setUsername("stats-teacher");
+        teacher.setPassword("hash");
+        teacher.setRoles(List.of(role));
+        userRepository.save(teacher);
+
+        first = createStudent("F100001");
+        second = createStudent("F100002");
+
+        thesisCounters.reconcile();
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        thesisCounters.reconcile();
+    }
+
+
+    @Test
+    @WithMockUser(username = "stats-teacher", roles = "TEACHER")
+    void countersFollowTransitionsTest() throws Exception {
+        long firstThesis = submit("First thesis", first);
+        long secondThesis = submit("Second thesis", second);
+
+        mockMvc.perform(put("/api/theses/submitted/" + firstThesis + "/approve"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/theses/approved/" + firstThesis + "/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_5_50\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/theses/defended/" + firstThesis)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_6_00\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/theses/" + secondThesis))
+                .andExpect(status().isNoContent());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/theses/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.SUBMITTED").value(0))
+                .andExpect(jsonPath("$.byStatus.DEFENDED").value(1))
+                .andExpect(jsonPath("$.byGrade.GRADE_5_50").value(0))
+                .andExpect(jsonPath("$.byGrade.GRADE_6_00").value(1));
+
+        //Counter rows only - thesis table is not read
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    //Student delete takes the thesis with it - counted out without a reconcile
+    @Test
+    @WithMockUser(username = "stats-teacher", roles = "TEACHER")
+    void studentDeleteCountsOutThesisTest() throws Exception {
+        long firstThesis = submit("First thesis", first);
+        submit("Second thesis", second);
+
+        mockMvc.perform(put("/api/theses/submitted/" + firstThesis + "/approve"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/students/" + first.getId()))
+                .andExpect(status().isNoContent());
+
+        assertFalse(thesisRepository.existsById(firstThesis));
+
+        mockMvc.perform(get("/api/theses/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.SUBMITTED").value(1))
+                .andExpect(jsonPath("$.byStatus.APPROVED").value(0));
+    }
+
+    //Saved straight through the repository - counters only catch up on reconcile
+    @Test
+    @WithMockUser(username = "stats-teacher", roles = "TEACHER")
+    void reconcileFixesDriftTest() throws Exception {
+        Thesis thesis = new Thesis();
+        thesis.setTitle("Imported");
+        thesis.setStatus(ThesisStatus.APPROVED);
+        thesisRepository.save(thesis);
+
+        mockMvc.perform(get("/api/theses/stats"))
+                .andExpect(jsonPath("$.byStatus.APPROVED").value(0));
+
+        thesisCounters.reconcile();
+
+        mockMvc.perform(get("/api/theses/stats"))
+                .andExpect(jsonPath("$.byStatus.APPROVED").value(1))
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
+
+    private long submit(String title, Student student) throws Exception {
+        String body = mockMvc.perform(post("/api/theses/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", title, "studentId", student.getId()))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private Student createStudent(String studentNumber) {
+        Student student = new Student();
+        student.setFirstName("First");
+        student.setLastName("Last");
+        student.setStudentNumber(studentNumber);
+        return studentRepository.save(student);
+    }
+}
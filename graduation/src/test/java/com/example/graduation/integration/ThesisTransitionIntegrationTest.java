@@ -0,0 +1,159 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.ThesisRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//Single thesis transitions are compare-and-set UPDATEs - a second, late request gets 409
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ThesisTransitionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ThesisRepository thesisRepository;
+
+    private Thesis thesis;
+
+
+    @BeforeEach
+    void setup() {
+        thesis = new Thesis();
+        thesis.setTitle("Quantum networks");
+        thesis.setStatus(ThesisStatus.SUBMITTED);
+        thesis = thesisRepository.save(thesis);
+    }
+
+    @AfterEach
+    void cleanup() {
+        thesisRepository.deleteAll();
+    }
+
+
+    //Every step bumps the version, repeating a step is a conflict
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void approveThenDefendTest() throws Exception {
+        mockMvc.perform(put("/api/theses/submitted/" + thesis.getId() + "/approve"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Quantum networks"));
+
+        mockMvc.perform(put("/api/theses/submitted/" + thesis.getId() + "/approve"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Thesis is APPROVED, not SUBMITTED"));
+
+        mockMvc.perform(put("/api/theses/approved/" + thesis.getId() + "/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_5_00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grade").value("GRADE_5_00"));
+
+        Thesis defended = thesisRepository.findById(thesis.getId()).orElseThrow();
+        assertEquals(ThesisStatus.DEFENDED, defended.getStatus());
+        assertEquals(Grade.GRADE_5_00, defended.getGrade());
+        assertEquals(thesis.getVersion() + 2, defended.getVersion());
+    }
+
+    //Edit form sent back with the version it was loaded with
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void staleEditFormTest() throws Exception {
+        mockMvc.perform(get("/api/theses/submitted/" + thesis.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(thesis.getVersion()));
+
+        String form = String.format("{\"title\":\"Quantum repeaters\",\"version\":%d}", thesis.getVersion());
+
+        mockMvc.perform(put("/api/theses/submitted/" + thesis.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(form))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Quantum repeaters"));
+
+        //Same form again - the thesis has moved on
+        mockMvc.perform(put("/api/theses/submitted/" + thesis.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(form))
+                .andExpect(status().isConflict());
+
+        assertEquals("Quantum repeaters", thesisRepository.findById(thesis.getId()).orElseThrow().getTitle());
+    }
+
+    //Defended grade edit - same compare-and-set as the submitted form
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void staleDefendedEditFormTest() throws Exception {
+        mockMvc.perform(put("/api/theses/submitted/" + thesis.getId() + "/approve"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/theses/approved/" + thesis.getId() + "/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_5_00\"}"))
+                .andExpect(status().isOk());
+
+        long version = thesis.getVersion() + 2;
+        mockMvc.perform(get("/api/theses/defended/" + thesis.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version));
+
+        String form = String.format("{\"grade\":\"GRADE_6_00\",\"version\":%d}", version);
+
+        mockMvc.perform(put("/api/theses/defended/" + thesis.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(form))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grade").value("GRADE_6_00"));
+
+        //Same form again - the thesis has moved on
+        mockMvc.perform(put("/api/theses/defended/" + thesis.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(form.replace("GRADE_6_00", "GRADE_4_00")))
+                .andExpect(status().isConflict());
+
+        Thesis defended = thesisRepository.findById(thesis.getId()).orElseThrow();
+        assertEquals(Grade.GRADE_6_00, defended.getGrade());
+        assertEquals(version + 1, defended.getVersion());
+    }
+
+    //No such thesis - 404 on every compare-and-set write, not a 500
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void missingThesisTest() throws Exception {
+        long missing = 999999;
+
+        mockMvc.perform(put("/api/theses/submitted/" + missing + "/approve"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/theses/approved/" + missing + "/defend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_5_00\"}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/theses/submitted/" + missing)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Quantum repeaters\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/theses/defended/" + missing)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"GRADE_6_00\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.graduation.integration;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.User;
+import com.example.graduation.repository.RoleRepository;
+import com.example.graduation.repository.UserRepository;
+import com.example.graduation.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//No @Transactional - eviction only happens after commit
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDetailsCacheIntegrationTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Role role;
+    private User user;
+
+    //Created by roleUpdateEvictsCacheTest only
+    private Role renamedRole;
+
+
+    @BeforeEach
+    void setup() {
+        role = roleRepository.findByRoleName("ROLE_TEACHER");
+
+        user = new User();
+        user.setUsername("cached-teacher");
+        user.setPassword("old-hash");
+        user.setRoles(List.of(role));
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAll();
+        if (renamedRole != null) {
+            roleRepository.deleteById(renamedRole.getId());
+        }
+    }
+
+
+    //Second load is served from cache
+    @Test
+    void loadUserByUsernameIsCachedTest() {
+        UserDetails first = userDetailsService.loadUserByUsername("cached-teacher");
+        UserDetails second = userDetailsService.loadUserByUsername("cached-teacher");
+
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_TEACHER"),
+                second.getAuthorities().stream().map(Object::toString).toList());
+
+        //Stats are published for scraping
+        assertTrue(meterRegistry.get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("result", "hit")
+                .functionCounter().count() >= 1);
+    }
+
+    //Updating the User evicts the cached entry
+    @Test
+    void userUpdateEvictsCacheTest() {
+        assertEquals("old-hash", userDetailsService.loadUserByUsername("cached-teacher").getPassword());
+
+        user.setPassword("new-hash");
+        userRepository.save(user);
+
+        assertEquals("new-hash", userDetailsService.loadUserByUsername("cached-teacher").getPassword());
+    }
+
+    //Role change clears principals with the old role
+    //Own role - the seeded ones are shared with the other tests
+    @Test
+    void roleUpdateEvictsCacheTest() {
+        renamedRole = roleRepository.save(new Role("ROLE_REVIEWER"));
+        user.setRoles(List.of(renamedRole));
+        userRepository.save(user);
+
+        userDetailsService.loadUserByUsername("cached-teacher");
+
+        renamedRole.setRoleName("ROLE_EXAMINER");
+        roleRepository.save(renamedRole);
+
+        assertEquals(List.of("ROLE_EXAMINER"),
+                userDetailsService.loadUserByUsername("cached-teacher")
+                        .getAuthorities().stream().map(Object::toString).toList());
+    }
+}
@@ -5,22 +5,26 @@ import com.example.graduation.dto.thesis.ApprovedThesisDTO;
 import com.example.graduation.entity.Student;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.mapper.ThesisMapper;
+import com.example.graduation.mapper.ThesisMapperImpl;
 import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
 import com.example.graduation.service.ThesisService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.AdditionalMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -30,8 +34,9 @@ public class ApprovedThesisServiceTest {
     @Mock
     private ThesisRepository thesisRepository;
 
-    @Mock
-    private ModelMapper modelMapper;
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private ThesisMapper thesisMapper = new ThesisMapperImpl();
 
     @InjectMocks
     private ThesisService thesisService;
@@ -57,15 +62,13 @@ public class ApprovedThesisServiceTest {
     void getAllApprovedTheses_returnsFilteredPage() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by("title").ascending());
-        Page<Thesis> thesisPage = new PageImpl<>(List.of(thesis));
-        ApprovedThesisDTO dto = new ApprovedThesisDTO();
-        dto.setTitle("Approved Thesis");
+        ApprovedThesisDTO dto = new ApprovedThesisDTO(10L, "Approved Thesis", 1L, "F123456");
+        Page<ApprovedThesisDTO> dtoPage = new PageImpl<>(List.of(dto));
 
-        when(thesisRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(thesisPage);
-        when(modelMapper.map(thesis, ApprovedThesisDTO.class)).thenReturn(dto);
+        when(thesisRepository.findApprovedThesisDTOs(any(Specification.class), any(Pageable.class), eq(CountMode.EXACT), anyString())).thenReturn(dtoPage);
 
         // Act
-        Page<ApprovedThesisDTO> result = thesisService.getAllApprovedTheses("Approved", "F123456", 0, 10, "title", "asc");
+        Page<ApprovedThesisDTO> result = (Page<ApprovedThesisDTO>) thesisService.getAllApprovedTheses("Approved", "F123456", 0, 10, "title", "asc", CountMode.EXACT);
 
         // Assert
         assertEquals(1, result.getTotalElements());
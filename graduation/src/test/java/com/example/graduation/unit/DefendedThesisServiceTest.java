@@ -6,17 +6,24 @@ import com.example.graduation.dto.thesis.UpdateDefendedThesisDTO;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.enums.Grade;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.exception.ThesisConflictException;
+import com.example.graduation.mapper.ThesisMapper;
+import com.example.graduation.mapper.ThesisMapperImpl;
 import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.ThesisState;
+import com.example.graduation.service.ThesisCounters;
 import com.example.graduation.service.ThesisService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -28,7 +35,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -38,8 +49,17 @@ class DefendedThesisServiceTest {
     @Mock
     ThesisRepository thesisRepository;
 
+    //Counter deltas - covered by ThesisCountersTest
     @Mock
-    ModelMapper modelMapper;
+    ThesisCounters thesisCounters;
+
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private ThesisMapper thesisMapper = new ThesisMapperImpl();
+
+    //Compare-and-set writes publish their own EntityChangedEvent
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     ThesisService thesisService;
@@ -63,61 +83,53 @@ class DefendedThesisServiceTest {
     //Get all Defended Theses
     @Test
     void getAllDefendedThesesTest() {
-        // Prepare a page of theses
-        Page<Thesis> thesisPage = new PageImpl<>(List.of(thesis), pageable, 1);
+        // Prepare a page of projected DTOs
+        DefendedThesisDTO dto = new DefendedThesisDTO(
+                thesis.getId(), thesis.getTitle(), null, null, thesis.getGrade());
+        Page<DefendedThesisDTO> dtoPage = new PageImpl<>(List.of(dto), pageable, 1);
 
-        when(thesisRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(thesisPage);
+        when(thesisRepository.findDefendedThesisDTOs(any(Specification.class), any(Pageable.class), eq(CountMode.EXACT), anyString()))
+                .thenReturn(dtoPage);
 
-        // Stub convert method
-        when(modelMapper.map(any(), ArgumentMatchers.eq(DefendedThesisDTO.class)))
-                .thenAnswer(invocation -> {
-                    Thesis t = invocation.getArgument(0);
-                    DefendedThesisDTO dto = new DefendedThesisDTO();
-                    dto.setGrade(t.getGrade());
-                    dto.setTitle(t.getTitle());
-                    return dto;
-                });
-
-        Page<DefendedThesisDTO> result = thesisService.getAllDefendedTheses(
-                null, null, Grade.GRADE_4_50, 0, 10, "title", "asc");
+        Page<DefendedThesisDTO> result = (Page<DefendedThesisDTO>) thesisService.getAllDefendedTheses(
+                null, null, Grade.GRADE_4_50, 0, 10, "title", "asc", CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Defended Thesis", result.getContent().get(0).getTitle());
 
-        verify(thesisRepository).findAll(any(Specification.class), any(Pageable.class));
+        assertEquals(Grade.GRADE_4_50, result.getContent().get(0).getGrade());
+
+        verify(thesisRepository).findDefendedThesisDTOs(any(Specification.class), any(Pageable.class), eq(CountMode.EXACT), anyString());
     }
 
 
     //Update Defended Thesis
-    //Success
+    //Success - old grade read first for the counters, then the compare-and-set UPDATE on that version
     @Test
     void updateDefendedThesisSuccessTest() {
         UpdateDefendedThesisDTO updateDTO = new UpdateDefendedThesisDTO();
         updateDTO.setGrade(Grade.GRADE_4_00);
 
-        when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
-        when(thesisRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(modelMapper.map(any(), ArgumentMatchers.eq(DefendedThesisDTO.class))).thenAnswer(invocation -> {
-
-            Thesis thesis = invocation.getArgument(0);
-            DefendedThesisDTO dto = new DefendedThesisDTO();
-            dto.setGrade(thesis.getGrade());
-
-            return dto;
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.of(state(thesis)));
+        when(thesisRepository.updateGrade(1L, 0L, ThesisStatus.DEFENDED, Grade.GRADE_4_00)).thenAnswer(invocation -> {
+            thesis.setGrade(Grade.GRADE_4_00);
+            return 1;
         });
+        when(thesisRepository.findWritten(List.of(1L))).thenReturn(List.of(thesis));
 
 
         DefendedThesisDTO result = thesisService.updateDefendedThesis(1L, updateDTO);
 
         assertEquals(Grade.GRADE_4_00, result.getGrade());
-        verify(thesisRepository).save(any());
+        verify(thesisRepository, never()).save(any());
+        verify(thesisCounters).changed(ThesisStatus.DEFENDED, Grade.GRADE_4_50, thesis);
+        verify(eventPublisher).publishEvent(any(EntityChangedEvent.class));
     }
 
     //Throw if Defended Thesis not found
     @Test
     void updateDefendedThesisNotFoundTest() {
-        when(thesisRepository.findById(1L)).thenReturn(Optional.empty());
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.empty());
 
         UpdateDefendedThesisDTO updateDTO = new UpdateDefendedThesisDTO();
         updateDTO.setGrade(Grade.GRADE_4_00);
@@ -126,6 +138,19 @@ class DefendedThesisServiceTest {
                 thesisService.updateDefendedThesis(1L, updateDTO));
     }
 
+    //Edit form loaded an older version - no UPDATE is sent
+    @Test
+    void updateDefendedThesisStaleVersionTest() {
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.of(state(thesis)));
+
+        UpdateDefendedThesisDTO updateDTO = new UpdateDefendedThesisDTO(1L, Grade.GRADE_4_00, 5L);
+
+        assertThrows(ThesisConflictException.class, () ->
+                thesisService.updateDefendedThesis(1L, updateDTO));
+        verify(thesisRepository, never()).updateGrade(any(), any(), any(), any());
+        verifyNoInteractions(thesisCounters, eventPublisher);
+    }
+
 
 
     //Get Defended Thesis By ID
@@ -134,8 +159,6 @@ class DefendedThesisServiceTest {
     void getDefendedThesisByIdSuccessTest() {
 
         when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
-        when(modelMapper.map(any(), ArgumentMatchers.eq(UpdateDefendedThesisDTO.class)))
-                .thenReturn(new UpdateDefendedThesisDTO());
 
         UpdateDefendedThesisDTO dto = thesisService.getDefendedThesisById(1L);
 
@@ -166,29 +189,33 @@ class DefendedThesisServiceTest {
 
 
     //Change Thesis Status from Approved -> Defended
-    //Success
+    //Success - one UPDATE, the row is read back for the response and the event
     @Test
     void defendThesisSuccessTest() {
         CreateDefendedThesisDTO createDTO = new CreateDefendedThesisDTO();
         createDTO.setGrade(Grade.GRADE_4_00);
 
-        thesis.setStatus(ThesisStatus.APPROVED);
-
-        when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
-        when(thesisRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(modelMapper.map(any(), ArgumentMatchers.eq(CreateDefendedThesisDTO.class))).thenReturn(createDTO);
+        when(thesisRepository.transition(1L, ThesisStatus.APPROVED, ThesisStatus.DEFENDED, Grade.GRADE_4_00))
+                .thenAnswer(invocation -> {
+                    thesis.setGrade(Grade.GRADE_4_00);
+                    return 1;
+                });
+        when(thesisRepository.findWritten(List.of(1L))).thenReturn(List.of(thesis));
 
         CreateDefendedThesisDTO result = thesisService.defendThesis(1L, createDTO);
 
         assertEquals(Grade.GRADE_4_00, result.getGrade());
-        verify(thesisRepository).save(any());
+        verify(thesisRepository, never()).save(any());
+        verify(thesisRepository, never()).findStateById(any());
+        verify(thesisCounters).changed(ThesisStatus.APPROVED, null, thesis);
+        verify(eventPublisher).publishEvent(any(EntityChangedEvent.class));
     }
 
 
     //Throw if Thesis not found
     @Test
     void defendThesisNotFoundTest() {
-        when(thesisRepository.findById(1L)).thenReturn(Optional.empty());
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.empty());
 
         CreateDefendedThesisDTO createDTO = new CreateDefendedThesisDTO();
         createDTO.setGrade(Grade.GRADE_4_00);
@@ -197,6 +224,19 @@ class DefendedThesisServiceTest {
                 thesisService.defendThesis(1L, createDTO));
     }
 
+    //Already Defended - the UPDATE matches nothing, the row read tells why
+    @Test
+    void defendThesisWrongStatusTest() {
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.of(state(thesis)));
+
+        CreateDefendedThesisDTO createDTO = new CreateDefendedThesisDTO();
+        createDTO.setGrade(Grade.GRADE_4_00);
+
+        assertThrows(ThesisConflictException.class, () ->
+                thesisService.defendThesis(1L, createDTO));
+        verifyNoInteractions(thesisCounters, eventPublisher);
+    }
+
 
 
     //Delete Thesis
@@ -221,4 +261,10 @@ class DefendedThesisServiceTest {
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> thesisService.deleteThesis(1L));
     }
-}
\ No newline at end of file
+
+
+    //ThesisRepository.findStateById row - version 0
+    private static ThesisState state(Thesis thesis) {
+        return new ThesisState(thesis.getStatus(), thesis.getGrade(), 0L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.jwt.JwtSigner;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtSignerTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final JwtSigner signer = new JwtSigner(SECRET);
+
+
+    //Tokens issued by jjwt before the switch are still accepted
+    @Test
+    void verifiesLegacyJjwtTokenTest() {
+        String legacyToken = Jwts.builder()
+                .setSubject("teacher1")
+                .claim("roles", List.of("ROLE_TEACHER"))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        Claims claims = signer.verify(legacyToken);
+
+        assertEquals("teacher1", claims.getSubject());
+        assertEquals(List.of("ROLE_TEACHER"), claims.get("roles"));
+    }
+
+    //jjwt accepts tokens issued by JwtSigner
+    @Test
+    void signedTokenIsReadableByJjwtTest() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "student1");
+        claims.put("userId", 5L);
+        claims.put("exp", System.currentTimeMillis() / 1000 + 60);
+
+        String token = signer.sign(claims);
+
+        Claims parsed = Jwts.parser()
+                .setSigningKey(SECRET)
+                .parseClaimsJws(token)
+                .getBody();
+
+        assertEquals("student1", parsed.getSubject());
+        assertEquals(5L, parsed.get("userId", Long.class));
+        assertEquals(parsed, signer.verify(token));
+    }
+
+    @Test
+    void rejectsTamperedPayloadTest() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("sub", "student1");
+        String token = signer.sign(claims);
+
+        String[] parts = token.split("\\.");
+        String forged = signer.sign(Map.of("sub", "teacher1")).split("\\.")[1];
+
+        assertThrows(SignatureException.class, () ->
+                signer.verify(parts[0] + "." + forged + "." + parts[2]));
+    }
+
+    @Test
+    void rejectsOtherKeyTest() {
+        String token = new JwtSigner("ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=")
+                .sign(Map.of("sub", "student1"));
+
+        assertThrows(SignatureException.class, () -> signer.verify(token));
+    }
+
+    @Test
+    void rejectsExpiredTokenTest() {
+        String token = signer.sign(Map.of("sub", "student1", "exp", System.currentTimeMillis() / 1000 - 10));
+
+        assertThrows(ExpiredJwtException.class, () -> signer.verify(token));
+    }
+
+    //Unsigned tokens - "alg":"none"
+    @Test
+    void rejectsOtherAlgorithmTest() {
+        String unsigned = Jwts.builder().setSubject("teacher1").compact();
+        String token = signer.sign(Map.of("sub", "teacher1"));
+        String noneHeader = unsigned.substring(0, unsigned.indexOf('.'));
+
+        assertThrows(UnsupportedJwtException.class, () ->
+                signer.verify(noneHeader + token.substring(token.indexOf('.'))));
+        assertThrows(MalformedJwtException.class, () -> signer.verify(unsigned));
+    }
+
+    @Test
+    void rejectsMalformedTokenTest() {
+        assertThrows(MalformedJwtException.class, () -> signer.verify("garbage"));
+        assertThrows(MalformedJwtException.class, () -> signer.verify("a.b"));
+        assertThrows(MalformedJwtException.class, () -> signer.verify("a.b.c.d"));
+    }
+}
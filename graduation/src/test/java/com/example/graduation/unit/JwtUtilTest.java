@@ -0,0 +1,72 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.entity.Role;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.User;
+import com.example.graduation.jwt.JwtUtil;
+import com.example.graduation.jwt.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private User user;
+
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = new JwtUtil();
+
+        Student student = new Student();
+        student.setId(7L);
+
+        Role role = new Role("ROLE_STUDENT");
+        role.setId(2L);
+
+        user = new User();
+        user.setId(3L);
+        user.setUsername("student1");
+        user.setRoles(List.of(role));
+        user.setStudent_owner(student);
+    }
+
+
+    //Token carries everything needed to build the principal
+    @Test
+    void principalFromClaimsTest() {
+        Authentication auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(auth));
+
+        assertTrue(UserPrincipal.hasPrincipalClaims(claims));
+
+        UserPrincipal principal = UserPrincipal.from(claims);
+        assertEquals(3L, principal.getId());
+        assertEquals("student1", principal.getUsername());
+        assertEquals(7L, principal.getStudentId());
+        assertNull(principal.getTeacherId());
+        assertEquals(List.of("ROLE_STUDENT"), principal.getRoles());
+        assertTrue(principal.isStudent());
+    }
+
+    //Validation works on already verified claims
+    @Test
+    void validateClaimsTest() {
+        Authentication auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        String token = jwtUtil.generateToken(auth);
+
+        Claims claims = jwtUtil.extractAllClaims(token);
+
+        assertTrue(jwtUtil.validateToken(claims, user));
+        assertTrue(jwtUtil.validateToken(token, user));
+        assertEquals("student1", jwtUtil.extractUsername(token));
+    }
+}
@@ -4,9 +4,15 @@ import com.example.graduation.dto.student.CreateStudentDTO;
 import com.example.graduation.dto.student.StudentDTO;
 import com.example.graduation.dto.student.UpdateStudentDTO;
 import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
 import com.example.graduation.exception.StudentNotFoundException;
+import com.example.graduation.mapper.StudentMapper;
+import com.example.graduation.mapper.StudentMapperImpl;
 import com.example.graduation.repository.StudentRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
 import com.example.graduation.service.StudentService;
+import com.example.graduation.service.ThesisCounters;
 import com.example.graduation.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,8 +20,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -25,7 +31,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -35,11 +43,18 @@ class StudentServiceTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Mock
+    private ThesisRepository thesisRepository;
+
     @Mock
     private UserService userService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ThesisCounters thesisCounters;
+
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private StudentMapper studentMapper = new StudentMapperImpl();
 
     @InjectMocks
     private StudentService studentService;
@@ -71,9 +86,7 @@ class StudentServiceTest {
         studentDTO.setStudentNumber("F123456");
 
         //Save to Database
-        when(modelMapper.map(studentDTO, Student.class)).thenReturn(student);
-        when(studentRepository.save(student)).thenReturn(student);
-        when(modelMapper.map(student, CreateStudentDTO.class)).thenReturn(studentDTO);
+        when(studentRepository.save(any(Student.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //Create the Student
         CreateStudentDTO result = studentService.createStudent(studentDTO);
@@ -83,7 +96,7 @@ class StudentServiceTest {
         assertEquals("Smith", result.getLastName());
         assertEquals("F123456", result.getStudentNumber());
 
-        verify(studentRepository).save(student);
+        verify(studentRepository).save(any(Student.class));
     }
 
 
@@ -97,18 +110,19 @@ class StudentServiceTest {
         studentDTO.setStudentNumber("F123456");
 
 
-        Page<Student> studentPage = new PageImpl<>(List.of(student));
+        Page<StudentDTO> studentPage = new PageImpl<>(List.of(studentDTO));
 
 
-        when(modelMapper.map(student, StudentDTO.class)).thenReturn(studentDTO);
-        when(studentRepository.findAll(
+        when(studentRepository.findStudentDTOs(
                 ArgumentMatchers.<Specification<Student>>any(),
-                ArgumentMatchers.any(Pageable.class)))
+                ArgumentMatchers.any(Pageable.class),
+                ArgumentMatchers.eq(CountMode.EXACT),
+                ArgumentMatchers.anyString()))
                 .thenReturn(studentPage);
 
         // When
-        Page<StudentDTO> result = studentService.getAllStudents(
-                "Alice", "Smith", "F123456", 0, 10, "firstName", "asc");
+        Page<StudentDTO> result = (Page<StudentDTO>) studentService.getAllStudents(
+                "Alice", "Smith", "F123456", 0, 10, "firstName", "asc", CountMode.EXACT);
 
         // Then
         assertEquals(1, result.getTotalElements());
@@ -134,7 +148,6 @@ class StudentServiceTest {
         student.setLastName(inputDTO.getLastName());
 
         when(studentRepository.save(student)).thenReturn(student);
-        when(modelMapper.map(student, UpdateStudentDTO.class)).thenReturn(inputDTO);
 
         // When
         UpdateStudentDTO result = studentService.updateStudent(1L, inputDTO);
@@ -156,6 +169,23 @@ class StudentServiceTest {
         studentService.deleteStudent(id);
 
         verify(studentRepository).delete(student);
+        verifyNoInteractions(thesisCounters);
+    }
+
+    //Thesis is deleted with the Student - counted out too
+    @Test
+    void deleteStudentWithThesisTest() {
+
+        Thesis thesis = new Thesis();
+
+        when(studentRepository.findById(id)).thenReturn(Optional.of(student));
+        when(thesisRepository.findByStudentId(id)).thenReturn(Optional.of(thesis));
+
+        studentService.deleteStudent(id);
+
+        verify(thesisRepository).delete(thesis);
+        verify(studentRepository).delete(student);
+        verify(thesisCounters).deleted(thesis);
     }
 
     //If Student doesn't exist
@@ -179,7 +209,6 @@ class StudentServiceTest {
 
 
         when(studentRepository.findById(id)).thenReturn(Optional.of(student));
-        when(modelMapper.map(student, StudentDTO.class)).thenReturn(studentDTO);
 
         Optional<StudentDTO> result = studentService.getStudentById(id);
 
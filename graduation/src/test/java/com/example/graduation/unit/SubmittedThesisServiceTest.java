@@ -8,9 +8,16 @@ import com.example.graduation.entity.Student;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.User;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.exception.ThesisConflictException;
 import com.example.graduation.exception.ThesisNotFoundException;
+import com.example.graduation.mapper.ThesisMapper;
+import com.example.graduation.mapper.ThesisMapperImpl;
 import com.example.graduation.repository.StudentRepository;
 import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.repository.projection.CountMode;
+import com.example.graduation.repository.projection.ThesisState;
+import com.example.graduation.service.ThesisCounters;
 import com.example.graduation.service.ThesisService;
 import com.example.graduation.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
@@ -19,8 +26,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -40,15 +48,24 @@ class SubmittedThesisServiceTest {
     @Mock
     private ThesisRepository thesisRepository;
 
+    //Counter deltas - covered by ThesisCountersTest
     @Mock
-    private StudentRepository studentRepository;
+    private ThesisCounters thesisCounters;
 
     @Mock
-    private ModelMapper modelMapper;
+    private StudentRepository studentRepository;
+
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private ThesisMapper thesisMapper = new ThesisMapperImpl();
 
     @Mock
     private UserService userService; //convertToEntity() uses currentUser
 
+    //Compare-and-set writes publish their own EntityChangedEvent
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ThesisService thesisService;
 
@@ -67,13 +84,14 @@ class SubmittedThesisServiceTest {
     //Get all Theses
     @Test
     void getAllSubmittedThesesTest() {
-        Page<Thesis> page = new PageImpl<>(List.of(thesis));
-        when(thesisRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+        SubmittedThesisDTO dto = new SubmittedThesisDTO(1L, "AI Thesis", ThesisStatus.SUBMITTED, null, null);
+        Page<SubmittedThesisDTO> page = new PageImpl<>(List.of(dto));
+        when(thesisRepository.findSubmittedThesisDTOs(any(Specification.class), any(Pageable.class), eq(CountMode.EXACT), anyString())).thenReturn(page);
 
-        Page<SubmittedThesisDTO> result = thesisService.getAllSubmittedTheses("AI", "123", 0, 10, "title", "asc");
+        Page<SubmittedThesisDTO> result = (Page<SubmittedThesisDTO>) thesisService.getAllSubmittedTheses("AI", "123", 0, 10, "title", "asc", CountMode.EXACT);
 
         assertEquals(1, result.getTotalElements());
-        verify(thesisRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        verify(thesisRepository, times(1)).findSubmittedThesisDTOs(any(Specification.class), any(Pageable.class), eq(CountMode.EXACT), eq("Thesis|submitted|ai|123"));
     }
 
 
@@ -92,12 +110,6 @@ class SubmittedThesisServiceTest {
 
         when(thesisRepository.save(any())).thenReturn(thesis);
 
-        SubmittedThesisDTO returnedDTO = new SubmittedThesisDTO();
-        returnedDTO.setId(1L);
-        returnedDTO.setTitle("AI Thesis");
-
-        when(modelMapper.map(any(), eq(SubmittedThesisDTO.class))).thenReturn(returnedDTO);
-
         //User Mock
         when(mockUser.getStudent_owner()).thenReturn(mockStudent);
         when(userService.getCurrentUser()).thenReturn(mockUser);
@@ -111,44 +123,53 @@ class SubmittedThesisServiceTest {
 
 
     //Update Thesis
+    //Compare-and-set UPDATE first - the row is read back for the response and the event
     @Test
     void updateSubmittedThesisSuccessTest() {
         UpdateSubmittedThesisDTO updateDTO = new UpdateSubmittedThesisDTO();
         updateDTO.setTitle("Updated Title");
 
-        when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
-        when(thesisRepository.save(any())).thenReturn(thesis);
-
-        SubmittedThesisDTO returnedDTO = new SubmittedThesisDTO();
-        returnedDTO.setTitle("Updated Title");
-        when(modelMapper.map(any(), eq(SubmittedThesisDTO.class))).thenReturn(returnedDTO);
+        when(thesisRepository.updateTitle(1L, null, ThesisStatus.SUBMITTED, "Updated Title")).thenAnswer(invocation -> {
+            thesis.setTitle("Updated Title");
+            return 1;
+        });
+        when(thesisRepository.findWritten(List.of(1L))).thenReturn(List.of(thesis));
 
         SubmittedThesisDTO result = thesisService.updateSubmittedThesis(1L, updateDTO);
 
         assertEquals("Updated Title", result.getTitle());
-        verify(thesisRepository).save(any());
+        verify(thesisRepository, never()).save(any());
+        verify(thesisRepository, never()).findStateById(any());
+        verify(eventPublisher).publishEvent(any(EntityChangedEvent.class));
     }
 
     //If Thesis ID doesn't exist throw an exception
     @Test
     void updateSubmittedThesisThrowTest() {
-        when(thesisRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(thesisRepository.findStateById(99L)).thenReturn(Optional.empty());
         UpdateSubmittedThesisDTO updateDTO = new UpdateSubmittedThesisDTO();
 
         assertThrows(ThesisNotFoundException.class, () -> thesisService.updateSubmittedThesis(99L, updateDTO));
     }
 
+    //Edit form loaded an older version - the UPDATE matches nothing
+    @Test
+    void updateSubmittedThesisStaleVersionTest() {
+        UpdateSubmittedThesisDTO updateDTO = new UpdateSubmittedThesisDTO(1L, "Updated Title", 2L);
+
+        when(thesisRepository.updateTitle(1L, 2L, ThesisStatus.SUBMITTED, "Updated Title")).thenReturn(0);
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.of(state(thesis)));
+
+        assertThrows(ThesisConflictException.class, () -> thesisService.updateSubmittedThesis(1L, updateDTO));
+        verifyNoInteractions(eventPublisher);
+    }
+
 
     //Get Thesis By ID if it exists
     @Test
     void getSubmittedThesisByIdSuccessTest() {
         when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
 
-        UpdateSubmittedThesisDTO dto = new UpdateSubmittedThesisDTO();
-        dto.setTitle("AI Thesis");
-
-        when(modelMapper.map(any(), eq(UpdateSubmittedThesisDTO.class))).thenReturn(dto);
-
         UpdateSubmittedThesisDTO result = thesisService.getSubmittedThesisById(1L);
 
         assertEquals("AI Thesis", result.getTitle());
@@ -168,34 +189,44 @@ class SubmittedThesisServiceTest {
     //Submitted -> Approved
     @Test
     void approveThesisSuccessTest() {
-        when(thesisRepository.findById(1L)).thenReturn(Optional.of(thesis));
-
-        Thesis approved = new Thesis();
-        approved.setId(1L);
-        approved.setStatus(ThesisStatus.APPROVED);
-        approved.setTitle("AI Thesis");
-
-        when(thesisRepository.save(any())).thenReturn(approved);
-
-        ApprovedThesisDTO dto = new ApprovedThesisDTO();
-        dto.setTitle("AI Thesis");
-
-        when(modelMapper.map(any(), eq(ApprovedThesisDTO.class))).thenReturn(dto);
+        when(thesisRepository.transition(1L, ThesisStatus.SUBMITTED, ThesisStatus.APPROVED)).thenAnswer(invocation -> {
+            thesis.setStatus(ThesisStatus.APPROVED);
+            return 1;
+        });
+        when(thesisRepository.findWritten(List.of(1L))).thenReturn(List.of(thesis));
 
         ApprovedThesisDTO result = thesisService.approveThesis(1L);
 
         assertEquals("AI Thesis", result.getTitle());
-        verify(thesisRepository).save(any());
+        verify(thesisRepository, never()).save(any());
+        verify(thesisRepository, never()).findStateById(any());
+        verify(thesisCounters).changed(ThesisStatus.SUBMITTED, null, thesis);
+        verify(eventPublisher).publishEvent(any(EntityChangedEvent.class));
     }
 
     //If Thesis ID doesn't exist throw an Exception
     @Test
     void approveThesisThrowTest() {
 
-        when(thesisRepository.findById(1L)).thenReturn(Optional.empty());
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> thesisService.approveThesis(1L));
 
     }
 
-}
\ No newline at end of file
+    //Already approved by another request - no counters, no event
+    @Test
+    void approveThesisConflictTest() {
+        thesis.setStatus(ThesisStatus.APPROVED);
+        when(thesisRepository.findStateById(1L)).thenReturn(Optional.of(state(thesis)));
+
+        assertThrows(ThesisConflictException.class, () -> thesisService.approveThesis(1L));
+        verifyNoInteractions(thesisCounters, eventPublisher);
+    }
+
+
+    //ThesisRepository.findStateById row - version 3
+    private static ThesisState state(Thesis thesis) {
+        return new ThesisState(thesis.getStatus(), thesis.getGrade(), 3L);
+    }
+}
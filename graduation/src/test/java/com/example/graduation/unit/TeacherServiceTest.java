@@ -5,7 +5,10 @@ import com.example.graduation.dto.teacher.TeacherDTO;
 import com.example.graduation.dto.teacher.UpdateTeacherDTO;
 import com.example.graduation.entity.Teacher;
 import com.example.graduation.exception.TeacherNotFoundException;
+import com.example.graduation.mapper.TeacherMapper;
+import com.example.graduation.mapper.TeacherMapperImpl;
 import com.example.graduation.repository.TeacherRepository;
+import com.example.graduation.repository.projection.CountMode;
 import com.example.graduation.service.TeacherService;
 import com.example.graduation.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +17,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,8 +42,9 @@ class TeacherServiceTest {
     @Mock
     private UserService userService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private TeacherMapper teacherMapper = new TeacherMapperImpl();
 
     @InjectMocks
     private TeacherService teacherService;
@@ -71,9 +76,7 @@ class TeacherServiceTest {
         teacherDTO.setTeacherNumber("T123456");
 
         //Save to Database
-        when(modelMapper.map(teacherDTO, Teacher.class)).thenReturn(teacher);
-        when(teacherRepository.save(teacher)).thenReturn(teacher);
-        when(modelMapper.map(teacher, CreateTeacherDTO.class)).thenReturn(teacherDTO);
+        when(teacherRepository.save(any(Teacher.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //Create the Teacher
         CreateTeacherDTO result = teacherService.createTeacher(teacherDTO);
@@ -83,7 +86,7 @@ class TeacherServiceTest {
         assertEquals("Smith", result.getLastName());
         assertEquals("T123456", result.getTeacherNumber());
 
-        verify(teacherRepository).save(teacher);
+        verify(teacherRepository).save(any(Teacher.class));
     }
 
 
@@ -97,17 +100,18 @@ class TeacherServiceTest {
         teacherDTO.setTeacherNumber("T123456");
 
 
-        Page<Teacher> teacherPage = new PageImpl<>(List.of(teacher));
+        Page<TeacherDTO> teacherPage = new PageImpl<>(List.of(teacherDTO));
 
-        when(modelMapper.map(teacher, TeacherDTO.class)).thenReturn(teacherDTO);
-        when(teacherRepository.findAll(
+        when(teacherRepository.findTeacherDTOs(
                 ArgumentMatchers.<Specification<Teacher>>any(),
-                ArgumentMatchers.any(Pageable.class)))
+                ArgumentMatchers.any(Pageable.class),
+                ArgumentMatchers.eq(CountMode.EXACT),
+                ArgumentMatchers.anyString()))
                 .thenReturn(teacherPage);
 
         // When
-        Page<TeacherDTO> result = teacherService.getAllTeachers(
-                "Mary", "Smith", "T123456", 0, 10, "firstName", "asc");
+        Page<TeacherDTO> result = (Page<TeacherDTO>) teacherService.getAllTeachers(
+                "Mary", "Smith", "T123456", 0, 10, "firstName", "asc", CountMode.EXACT);
 
         // Then
         assertEquals(1, result.getTotalElements());
@@ -133,7 +137,6 @@ class TeacherServiceTest {
         teacher.setLastName(inputDTO.getLastName());
 
         when(teacherRepository.save(teacher)).thenReturn(teacher);
-        when(modelMapper.map(teacher, UpdateTeacherDTO.class)).thenReturn(inputDTO);
 
         // When
         UpdateTeacherDTO result = teacherService.updateTeacher(1L, inputDTO);
@@ -178,7 +181,6 @@ class TeacherServiceTest {
 
 
         when(teacherRepository.findById(id)).thenReturn(Optional.of(teacher));
-        when(modelMapper.map(teacher, TeacherDTO.class)).thenReturn(teacherDTO);
 
         Optional<TeacherDTO> result = teacherService.getTeacherById(id);
 
@@ -0,0 +1,109 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.analytics.ThesisAnalytics;
+import com.example.graduation.dto.analytics.GradeAnalyticsDTO;
+import com.example.graduation.dto.analytics.GradeStatsDTO;
+import com.example.graduation.entity.Student;
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+//Snapshot fed by write events only - no rebuild, no database
+class ThesisAnalyticsTest {
+
+    private ThesisAnalytics thesisAnalytics;
+    private long nextId;
+
+
+    //Two cohorts - F23: 2.00, 4.00, 6.00 / F24: 5.00, 5.50
+    @BeforeEach
+    void setup() {
+        thesisAnalytics = new ThesisAnalytics(mock(JdbcTemplate.class));
+        nextId = 1;
+
+        defended("F23001", Grade.GRADE_2_00);
+        defended("F23002", Grade.GRADE_4_00);
+        defended("F23003", Grade.GRADE_6_00);
+        defended("F24001", Grade.GRADE_5_00);
+        defended("F24002", Grade.GRADE_5_50);
+    }
+
+
+    @Test
+    void overallStatsTest() {
+        //Not defended yet - not counted
+        Thesis submitted = thesis(student("F24003"), ThesisStatus.SUBMITTED, null);
+        thesisAnalytics.onEntityChanged(new EntityChangedEvent(submitted, ChangeType.CREATED));
+
+        GradeStatsDTO overall = thesisAnalytics.getGradeAnalytics(null, 0).getOverall();
+
+        assertEquals(5, overall.getGraded());
+        assertEquals(4.5, overall.getMean(), 1e-9);
+        assertEquals(5.0, overall.getMedian());
+        assertEquals(4.0, overall.getP25());
+        assertEquals(0.8, overall.getPassRate(), 1e-9);
+        assertEquals(1, overall.getDistribution().get(Grade.GRADE_2_00));
+        assertEquals(0, overall.getDistribution().get(Grade.GRADE_3_00));
+    }
+
+    @Test
+    void byCohortTest() {
+        GradeAnalyticsDTO result = thesisAnalytics.getGradeAnalytics(null, 3);
+
+        assertEquals(5, result.getOverall().getGraded());
+        assertEquals(3, result.getByCohort().get("F23").getGraded());
+        assertEquals(4.0, result.getByCohort().get("F23").getMean(), 1e-9);
+        assertEquals(1.0, result.getByCohort().get("F24").getPassRate(), 1e-9);
+
+        GradeStatsDTO onlyF24 = thesisAnalytics.getGradeAnalytics("F24", 0).getOverall();
+        assertEquals(2, onlyF24.getGraded());
+        assertNull(thesisAnalytics.getGradeAnalytics("F25", 0).getOverall().getMean());
+    }
+
+    //Regrade and delete are applied in place
+    @Test
+    void writesUpdateSnapshotTest() {
+        Thesis thesis = defended("F25001", Grade.GRADE_3_00);
+        assertEquals(3.0, thesisAnalytics.getGradeAnalytics("F25", 0).getOverall().getMean());
+
+        thesis.setGrade(Grade.GRADE_4_50);
+        thesisAnalytics.onEntityChanged(new EntityChangedEvent(thesis, ChangeType.UPDATED));
+        assertEquals(4.5, thesisAnalytics.getGradeAnalytics("F25", 0).getOverall().getMean());
+
+        thesisAnalytics.onEntityChanged(new EntityChangedEvent(thesis, ChangeType.DELETED));
+        assertEquals(0, thesisAnalytics.getGradeAnalytics("F25", 0).getOverall().getGraded());
+        assertEquals(5, thesisAnalytics.getGradeAnalytics(null, 0).getOverall().getGraded());
+    }
+
+
+    private Thesis defended(String studentNumber, Grade grade) {
+        Thesis thesis = thesis(student(studentNumber), ThesisStatus.DEFENDED, grade);
+        thesisAnalytics.onEntityChanged(new EntityChangedEvent(thesis, ChangeType.CREATED));
+        return thesis;
+    }
+
+    private Student student(String studentNumber) {
+        Student student = new Student();
+        student.setId(nextId++);
+        student.setStudentNumber(studentNumber);
+        thesisAnalytics.onEntityChanged(new EntityChangedEvent(student, ChangeType.CREATED));
+        return student;
+    }
+
+    private Thesis thesis(Student student, ThesisStatus status, Grade grade) {
+        Thesis thesis = new Thesis();
+        thesis.setId(nextId++);
+        thesis.setStudent(student);
+        thesis.setStatus(status);
+        thesis.setGrade(grade);
+        return thesis;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.entity.Thesis;
+import com.example.graduation.entity.ThesisCounter;
+import com.example.graduation.entity.enums.Grade;
+import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.repository.ThesisCounterRepository;
+import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.service.ThesisCounters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThesisCountersTest {
+
+    @Mock
+    private ThesisCounterRepository thesisCounterRepository;
+
+    @Mock
+    private ThesisRepository thesisRepository;
+
+    @InjectMocks
+    private ThesisCounters thesisCounters;
+
+
+    //Approved -> Defended with a grade - one delta per counter, always in name order
+    @Test
+    void defendMovesStatusAndAddsGradeTest() {
+        Thesis thesis = new Thesis();
+        thesis.setStatus(ThesisStatus.DEFENDED);
+        thesis.setGrade(Grade.GRADE_5_50);
+
+        thesisCounters.changed(ThesisStatus.APPROVED, null, thesis);
+
+        InOrder inOrder = inOrder(thesisCounterRepository);
+        inOrder.verify(thesisCounterRepository).add("GRADE:GRADE_5_50", 1L);
+        inOrder.verify(thesisCounterRepository).add("STATUS:APPROVED", -1L);
+        inOrder.verify(thesisCounterRepository).add("STATUS:DEFENDED", 1L);
+        verifyNoMoreInteractions(thesisCounterRepository);
+    }
+
+    //Same Status and Grade - nothing to write
+    @Test
+    void unchangedThesisWritesNothingTest() {
+        Thesis thesis = new Thesis();
+        thesis.setStatus(ThesisStatus.DEFENDED);
+        thesis.setGrade(Grade.GRADE_4_00);
+
+        thesisCounters.changed(ThesisStatus.DEFENDED, Grade.GRADE_4_00, thesis);
+
+        verify(thesisCounterRepository, never()).add(anyString(), anyLong());
+    }
+
+    //Drifted rows are overwritten, missing ones created, statuses without theses reset to 0
+    @Test
+    void reconcileOverwritesWithRecountTest() {
+        ThesisCounter submitted = new ThesisCounter("STATUS:SUBMITTED", 7);
+        ThesisCounter rejected = new ThesisCounter("STATUS:REJECTED", 2);
+        when(thesisCounterRepository.findAllForUpdate()).thenReturn(List.of(submitted, rejected));
+
+        List<Object[]> byStatus = new ArrayList<>();
+        byStatus.add(new Object[]{ThesisStatus.SUBMITTED, 3L});
+        when(thesisRepository.countByStatus()).thenReturn(byStatus);
+        when(thesisRepository.countByGrade()).thenReturn(List.of());
+
+        thesisCounters.reconcile();
+
+        assertEquals(3, submitted.getTotal());
+        assertEquals(0, rejected.getTotal());
+        //2 more statuses + 8 grades had no row
+        verify(thesisCounterRepository, times(ThesisStatus.values().length - 2 + Grade.values().length))
+                .save(any(ThesisCounter.class));
+    }
+}
@@ -7,8 +7,11 @@ import com.example.graduation.entity.Student;
 import com.example.graduation.entity.Thesis;
 import com.example.graduation.entity.User;
 import com.example.graduation.entity.enums.ThesisStatus;
+import com.example.graduation.mapper.ThesisMapper;
+import com.example.graduation.mapper.ThesisMapperImpl;
 import com.example.graduation.repository.StudentRepository;
 import com.example.graduation.repository.ThesisRepository;
+import com.example.graduation.service.ThesisCounters;
 import com.example.graduation.service.ThesisService;
 import com.example.graduation.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +19,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.util.Optional;
@@ -35,14 +38,19 @@ public class ThesisServiceStudentViewTest {
     @Mock
     private ThesisRepository thesisRepository;
 
+    //Counter deltas - covered by ThesisCountersTest
+    @Mock
+    private ThesisCounters thesisCounters;
+
     @Mock
     private StudentRepository studentRepository;
 
     @Mock
     private UserService userService;
 
-    @Mock
-    private ModelMapper modelMapper;
+    //Generated mapper - real conversions, not stubs
+    @Spy
+    private ThesisMapper thesisMapper = new ThesisMapperImpl();
 
     @InjectMocks
     private ThesisService thesisService;
@@ -68,11 +76,6 @@ public class ThesisServiceStudentViewTest {
 
         // Mock current user with student_owner
         currentUser = mock(User.class);
-        when(currentUser.getStudent_owner()).thenReturn(student);
-
-        // Mock user service
-        when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(userService.isUserStudent(currentUser)).thenReturn(true);
     }
 
 
@@ -86,26 +89,15 @@ public class ThesisServiceStudentViewTest {
         createThesisDTO.setStatus(ThesisStatus.SUBMITTED); // or leave unset, since service sets it anyway
         createThesisDTO.setStudentId(student.getId()); // if your convertToEntity uses it
 
+        // Mock user service
+        when(currentUser.getStudent_owner()).thenReturn(student);
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(userService.isUserStudent(currentUser)).thenReturn(true);
+
         when(thesisRepository.save(Mockito.<Thesis>any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         when(studentRepository.findById(student.getId())).thenReturn(Optional.of(student));
 
-        when(modelMapper.map(any(Thesis.class), eq(SubmittedThesisDTO.class))).thenAnswer(invocation -> {
-            Thesis arg = invocation.getArgument(0);
-
-            SubmittedThesisDTO submittedThesisDTO = new SubmittedThesisDTO();
-
-            if (arg.getStudent() != null) {
-                submittedThesisDTO.setStudentId(arg.getStudent().getId());
-                submittedThesisDTO.setStudentNumber(arg.getStudent().getStudentNumber());
-            }
-
-            submittedThesisDTO.setTitle(arg.getTitle());
-            submittedThesisDTO.setStatus(arg.getStatus());
-
-            return submittedThesisDTO;
-        });
-
 
         // Act
         SubmittedThesisDTO result = thesisService.submitThesisByStudent(createThesisDTO);
@@ -127,17 +119,19 @@ public class ThesisServiceStudentViewTest {
     @Test
     void getOwnThesisTest() {
         // Arrange
-        StudentThesisDTO expectedThesisDTO = new StudentThesisDTO();
-        expectedThesisDTO.setTitle(thesis.getTitle());
+        // Student ID comes from the principal - no User lookup
+        when(userService.getCurrentStudentId()).thenReturn(student.getId());
 
         when(thesisRepository.findByStudentId(student.getId())).thenReturn(Optional.of(thesis));
-        when(modelMapper.map(thesis, StudentThesisDTO.class)).thenReturn(expectedThesisDTO);
 
         // Act
         Optional<StudentThesisDTO> result = thesisService.getOwnThesis();
 
         // Assert
         assertTrue(result.isPresent());
-        assertEquals(expectedThesisDTO, result.get());
+        assertEquals(thesis.getTitle(), result.get().getTitle());
+        assertEquals(ThesisStatus.SUBMITTED, result.get().getStatus());
+
+        verify(userService, never()).getCurrentUser();
     }
 }
@@ -0,0 +1,92 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.entity.User;
+import com.example.graduation.entity.listener.EntityChangedEvent;
+import com.example.graduation.entity.listener.EntityChangedEvent.ChangeType;
+import com.example.graduation.repository.UserRepository;
+import com.example.graduation.service.UsernameRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private UsernameRegistry registry;
+
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new UsernameRegistry(userRepository, meterRegistry, 1000, 0.01);
+    }
+
+
+    //Unknown usernames are absorbed once the filter is loaded
+    @Test
+    void rejectsUnknownUsernameTest() {
+        when(userRepository.findAllUsernames()).thenReturn(List.of("teacher1", "student1"));
+        registry.rebuild();
+
+        assertTrue(registry.mightExist("teacher1"));
+        assertTrue(registry.mightExist("student1"));
+        assertFalse(registry.mightExist("admin"));
+
+        assertEquals(1, counter("absorbed"));
+        assertEquals(2, counter("passed"));
+    }
+
+    //Not loaded yet - nothing is rejected
+    @Test
+    void passesEverythingBeforeLoadTest() {
+        assertTrue(registry.mightExist("anyone"));
+        assertEquals(0, counter("absorbed"));
+    }
+
+    //New users are known right away, without a rebuild
+    @Test
+    void createdUserIsAddedTest() {
+        when(userRepository.findAllUsernames()).thenReturn(List.of());
+        registry.rebuild();
+
+        User user = new User();
+        user.setUsername("student2");
+        registry.onEntityChanged(new EntityChangedEvent(user, ChangeType.CREATED));
+
+        assertTrue(registry.mightExist("student2"));
+    }
+
+
+    //Created without an event (another instance, SQL) - known after the next rebuild
+    @Test
+    void userCreatedElsewhereIsPickedUpOnRebuildTest() {
+        when(userRepository.findAllUsernames())
+                .thenReturn(List.of("teacher1"))
+                .thenReturn(List.of("teacher1", "student3"));
+        registry.rebuild();
+
+        assertFalse(registry.mightExist("student3"));
+
+        registry.rebuild();
+
+        assertTrue(registry.mightExist("student3"));
+    }
+
+
+    private double counter(String result) {
+        return meterRegistry.get("auth.username.lookups").tag("result", result).counter().count();
+    }
+}
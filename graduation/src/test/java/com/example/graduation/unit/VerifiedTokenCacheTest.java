@@ -0,0 +1,69 @@
+package com.example.graduation.unit;
+
+import com.example.graduation.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache tokenCache;
+
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new VerifiedTokenCache(meterRegistry, 100);
+    }
+
+
+    //Second lookup of the same token is a hit
+    @Test
+    void getAfterPutIsHitTest() {
+        Claims claims = Jwts.claims().setSubject("student1");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+
+        assertNull(tokenCache.get("token"));
+        tokenCache.put("token", claims);
+
+        assertSame(claims, tokenCache.get("token"));
+        assertEquals(1, tokenCache.hitCount());
+        assertEquals(1, tokenCache.missCount());
+
+        //Counters are published to the registry
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "jwt.verified.tokens")
+                .tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    //Expired tokens are never served from cache
+    @Test
+    void expiredTokenIsNotCachedTest() {
+        Claims claims = Jwts.claims().setSubject("student1");
+        claims.setExpiration(new Date(System.currentTimeMillis() - 1_000));
+
+        tokenCache.put("expired", claims);
+
+        assertNull(tokenCache.get("expired"));
+    }
+
+    //Invalidated tokens have to be verified again
+    @Test
+    void invalidateTest() {
+        Claims claims = Jwts.claims().setSubject("teacher1");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+
+        tokenCache.put("token", claims);
+        tokenCache.invalidate("token");
+
+        assertNull(tokenCache.get("token"));
+    }
+}